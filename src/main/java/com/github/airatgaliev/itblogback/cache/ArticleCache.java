@@ -0,0 +1,229 @@
+package com.github.airatgaliev.itblogback.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.airatgaliev.itblogback.dto.GetArticle;
+import com.github.airatgaliev.itblogback.event.ArticleChangedEvent;
+import com.github.airatgaliev.itblogback.model.Language;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+public class ArticleCache {
+
+  private static final int GENERATION_STRIPES = 1024;
+
+  private final ObjectMapper objectMapper;
+  private final SharedArticleCache sharedCache;
+  private final Duration ttl;
+  private final Map<String, Entry> entries;
+  private final Map<Long, Set<String>> dependents = new HashMap<>();
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+  private final Counter localHits;
+  private final Counter sharedHits;
+  private final Counter misses;
+  private final Counter explicitEvictions;
+  private final Counter sizeEvictions;
+  private final Counter expiredEvictions;
+
+  public ArticleCache(ObjectMapper objectMapper, ObjectProvider<SharedArticleCache> sharedCache,
+      MeterRegistry meterRegistry, @Value("${article.cache.max-entries}") int maxEntries,
+      @Value("${article.cache.ttl}") Duration ttl) {
+    this.objectMapper = objectMapper;
+    this.sharedCache = sharedCache.getIfAvailable();
+    this.ttl = ttl;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        boolean evict = size() > maxEntries;
+        if (evict) {
+          forgetDependent(eldest.getKey(), eldest.getValue());
+          sizeEvictions.increment();
+        }
+        return evict;
+      }
+    };
+    this.localHits = requests(meterRegistry, "hit", "local");
+    this.sharedHits = requests(meterRegistry, "hit", "shared");
+    this.misses = requests(meterRegistry, "miss", "none");
+    this.explicitEvictions = evictions(meterRegistry, "explicit");
+    this.sizeEvictions = evictions(meterRegistry, "size");
+    this.expiredEvictions = evictions(meterRegistry, "expired");
+    meterRegistry.gauge("article.cache.size", this, ArticleCache::size);
+  }
+
+  public Optional<GetArticle> get(Long id, Language language,
+      Supplier<Optional<GetArticle>> loader) {
+    String key = key(id, language);
+    byte[] value = getLocal(key);
+    if (value != null) {
+      localHits.increment();
+      return Optional.of(read(value));
+    }
+    long generationBeforeLoad = generations.get(stripe(id));
+    if (sharedCache != null) {
+      value = sharedCache.get(key).orElse(null);
+      if (value != null) {
+        sharedHits.increment();
+        GetArticle article = read(value);
+        putLocal(key, id, article, value, generationBeforeLoad);
+        return Optional.of(article);
+      }
+    }
+    misses.increment();
+    Optional<GetArticle> article = loader.get();
+    article.ifPresent(loaded -> {
+      byte[] serialized = write(loaded);
+      if (putLocal(key, id, loaded, serialized, generationBeforeLoad) && sharedCache != null) {
+        sharedCache.put(key, serialized, ttl);
+      }
+    });
+    return article;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleChanged(ArticleChangedEvent event) {
+    evict(event.articleId());
+    Set<Long> translations;
+    synchronized (entries) {
+      translations = dependents.getOrDefault(event.articleId(), Set.of()).stream()
+          .map(ArticleCache::idOf).collect(Collectors.toSet());
+    }
+    translations.forEach(this::evict);
+  }
+
+  public void evict(Long id) {
+    List<String> keys = Arrays.stream(Language.values()).map(language -> key(id, language))
+        .toList();
+    synchronized (entries) {
+      generations.incrementAndGet(stripe(id));
+      keys.forEach(key -> {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+          forgetDependent(key, removed);
+          explicitEvictions.increment();
+        }
+      });
+    }
+    if (sharedCache != null) {
+      try {
+        sharedCache.evict(keys);
+      } catch (RuntimeException e) {
+        log.warn("Failed to evict article {} from the shared cache.", id, e);
+      }
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private byte[] getLocal(String key) {
+    synchronized (entries) {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (entry.expiresAt() - System.nanoTime() < 0) {
+        entries.remove(key);
+        forgetDependent(key, entry);
+        expiredEvictions.increment();
+        return null;
+      }
+      return entry.value();
+    }
+  }
+
+  private boolean putLocal(String key, Long id, GetArticle article, byte[] value,
+      long expectedGeneration) {
+    Long originalId = article.getOriginalArticle() != null ? article.getOriginalArticle().getId()
+        : null;
+    synchronized (entries) {
+      if (generations.get(stripe(id)) != expectedGeneration) {
+        return false;
+      }
+      Entry previous = entries.put(key,
+          new Entry(value, System.nanoTime() + ttl.toNanos(), originalId));
+      if (previous != null) {
+        forgetDependent(key, previous);
+      }
+      if (originalId != null) {
+        dependents.computeIfAbsent(originalId, dependentId -> new HashSet<>()).add(key);
+      }
+      return true;
+    }
+  }
+
+  private void forgetDependent(String key, Entry entry) {
+    if (entry.originalId() == null) {
+      return;
+    }
+    Set<String> keys = dependents.get(entry.originalId());
+    if (keys != null && keys.remove(key) && keys.isEmpty()) {
+      dependents.remove(entry.originalId());
+    }
+  }
+
+  private GetArticle read(byte[] value) {
+    try {
+      return objectMapper.readValue(value, GetArticle.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private byte[] write(GetArticle article) {
+    try {
+      return objectMapper.writeValueAsBytes(article);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String key(Long id, Language language) {
+    return id + ":" + language.getCode();
+  }
+
+  private static Long idOf(String key) {
+    return Long.valueOf(key.substring(0, key.indexOf(':')));
+  }
+
+  private static int stripe(Long id) {
+    return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+  }
+
+  private static Counter requests(MeterRegistry meterRegistry, String result, String tier) {
+    return Counter.builder("article.cache.requests").tag("result", result).tag("tier", tier)
+        .register(meterRegistry);
+  }
+
+  private static Counter evictions(MeterRegistry meterRegistry, String cause) {
+    return Counter.builder("article.cache.evictions").tag("cause", cause)
+        .register(meterRegistry);
+  }
+
+  private record Entry(byte[] value, long expiresAt, Long originalId) {
+
+  }
+}
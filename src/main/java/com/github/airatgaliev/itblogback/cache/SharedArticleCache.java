@@ -0,0 +1,14 @@
+package com.github.airatgaliev.itblogback.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface SharedArticleCache {
+
+  Optional<byte[]> get(String key);
+
+  void put(String key, byte[] value, Duration ttl);
+
+  void evict(Collection<String> keys);
+}
@@ -3,6 +3,9 @@ package com.github.airatgaliev.itblogback.config;
 
 import com.github.airatgaliev.itblogback.interceptor.localization.LocalizationInterceptor;
 import com.github.airatgaliev.itblogback.repository.UserRepository;
+import com.github.airatgaliev.itblogback.security.BoundedPasswordEncoder;
+import com.github.airatgaliev.itblogback.security.UpgradeTolerantAuthenticationProvider;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -11,6 +14,8 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -33,6 +38,14 @@ public class ApplicationConfiguration implements WebMvcConfigurer {
   private String articleImageUploadDir;
   @Value("${category.image.upload-dir}")
   private String categoryImageUploadDir;
+  @Value("${spring.security.password.bcrypt-strength}")
+  private int bcryptStrength;
+  @Value("${spring.security.password.hashing.threads}")
+  private int hashingThreads;
+  @Value("${spring.security.password.hashing.queue-capacity}")
+  private int hashingQueueCapacity;
+  @Value("${spring.security.password.hashing.timeout}")
+  private Duration hashingTimeout;
 
   @Override
   public void addResourceHandlers(ResourceHandlerRegistry registry) {
@@ -59,7 +72,16 @@ public class ApplicationConfiguration implements WebMvcConfigurer {
 
   @Bean
   PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), hashingThreads,
+        hashingQueueCapacity, hashingTimeout);
+  }
+
+  @Bean
+  UserDetailsPasswordService userDetailsPasswordService() {
+    return (user, newPassword) -> {
+      userRepository.updatePassword(user.getUsername(), newPassword);
+      return User.withUserDetails(user).password(newPassword).build();
+    };
   }
 
   @Bean
@@ -70,9 +92,10 @@ public class ApplicationConfiguration implements WebMvcConfigurer {
 
   @Bean
   public AuthenticationProvider authenticationProvider() {
-    DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+    DaoAuthenticationProvider authProvider = new UpgradeTolerantAuthenticationProvider();
     authProvider.setUserDetailsService(userDetailsService());
     authProvider.setPasswordEncoder(passwordEncoder());
+    authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
     return authProvider;
   }
 }
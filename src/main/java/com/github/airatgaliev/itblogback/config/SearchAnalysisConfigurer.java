@@ -0,0 +1,51 @@
+package com.github.airatgaliev.itblogback.config;
+
+import com.github.airatgaliev.itblogback.model.Language;
+import org.apache.lucene.analysis.charfilter.HTMLStripCharFilterFactory;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.core.StopFilterFactory;
+import org.apache.lucene.analysis.en.EnglishPossessiveFilterFactory;
+import org.apache.lucene.analysis.en.PorterStemFilterFactory;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.ngram.EdgeNGramFilterFactory;
+import org.apache.lucene.analysis.snowball.SnowballPorterFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+public class SearchAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+  public static final String AUTOCOMPLETE_INDEXING = "autocomplete_indexing";
+  public static final String AUTOCOMPLETE_SEARCH = "autocomplete_search";
+
+  public static String analyzerName(Language language) {
+    return "text_" + language.getCode();
+  }
+
+  @Override
+  public void configure(LuceneAnalysisConfigurationContext context) {
+    context.normalizer("lowercase").custom().tokenFilter(LowerCaseFilterFactory.class)
+        .tokenFilter(ASCIIFoldingFilterFactory.class);
+
+    context.analyzer(analyzerName(Language.EN)).custom()
+        .tokenizer(StandardTokenizerFactory.class).charFilter(HTMLStripCharFilterFactory.class)
+        .tokenFilter(EnglishPossessiveFilterFactory.class)
+        .tokenFilter(LowerCaseFilterFactory.class).tokenFilter(StopFilterFactory.class)
+        .tokenFilter(PorterStemFilterFactory.class);
+
+    context.analyzer(analyzerName(Language.RU)).custom()
+        .tokenizer(StandardTokenizerFactory.class).charFilter(HTMLStripCharFilterFactory.class)
+        .tokenFilter(LowerCaseFilterFactory.class).tokenFilter(StopFilterFactory.class)
+        .param("words", "org/apache/lucene/analysis/snowball/russian_stop.txt")
+        .param("format", "snowball").tokenFilter(SnowballPorterFilterFactory.class)
+        .param("language", "Russian");
+
+    context.analyzer(AUTOCOMPLETE_INDEXING).custom().tokenizer(StandardTokenizerFactory.class)
+        .tokenFilter(LowerCaseFilterFactory.class).tokenFilter(ASCIIFoldingFilterFactory.class)
+        .tokenFilter(EdgeNGramFilterFactory.class).param("minGramSize", "1")
+        .param("maxGramSize", "20");
+
+    context.analyzer(AUTOCOMPLETE_SEARCH).custom().tokenizer(StandardTokenizerFactory.class)
+        .tokenFilter(LowerCaseFilterFactory.class).tokenFilter(ASCIIFoldingFilterFactory.class);
+  }
+}
@@ -49,7 +49,10 @@ public class SecurityConfiguration {
                 .requestMatchers(HttpMethod.GET, "/users/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/images/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/comments/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/tags/**").permitAll().anyRequest()
+                .requestMatchers(HttpMethod.GET, "/tags/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/search/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll().requestMatchers("/actuator/**")
+                .hasAuthority("ROLE_ADMIN").anyRequest()
                 .authenticated()).oauth2Login(
             oauth2 -> oauth2.successHandler(customOAuth2SuccessHandler)
                 .userInfoEndpoint(
@@ -1,27 +1,30 @@
 package com.github.airatgaliev.itblogback.controller;
 
+import com.github.airatgaliev.itblogback.dto.ArticleFilter;
+import com.github.airatgaliev.itblogback.dto.ArticleSearchHit;
 import com.github.airatgaliev.itblogback.dto.CreateDraftArticle;
+import com.github.airatgaliev.itblogback.dto.CursorPage;
 import com.github.airatgaliev.itblogback.dto.GetArticle;
 import com.github.airatgaliev.itblogback.dto.UpdateArticle;
 import com.github.airatgaliev.itblogback.dto.UpdateDraftArticle;
 import com.github.airatgaliev.itblogback.interceptor.localization.LocalizationContext;
-import com.github.airatgaliev.itblogback.model.ArticleModel;
 import com.github.airatgaliev.itblogback.model.Status;
-import com.github.airatgaliev.itblogback.repository.specifications.ArticleSpecifications;
 import com.github.airatgaliev.itblogback.service.ArticleService;
+import com.github.airatgaliev.itblogback.service.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.Parameters;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -46,47 +49,104 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Articles", description = "API for blog articles")
 public class ArticleController {
 
+  private static final Set<String> CONTENT_SEARCH_SORTS = Set.of("relevance", "createdAt");
+
   private final ArticleService articleService;
   private final LocalizationContext localizationContext;
+  private final TrendingService trendingService;
 
   @GetMapping
   @Operation(summary = "Get all articles or filter articles by various criteria", description = "Retrieve all articles or filter articles by category, tag, and/or content. Supports pagination and multiple filter combinations to narrow down search results.")
   @Parameters({@Parameter(name = "categoryId", description = "Category id to filter articles"),
-      @Parameter(name = "tag", description = "Tag to filter articles"),
+      @Parameter(name = "tag", description = "Tag to filter articles, matched exactly ignoring case"),
+      @Parameter(name = "tagPrefix", description = "Match all tags starting with the tag instead"),
       @Parameter(name = "username", description = "Author username to filter articles"),
       @Parameter(name = "content", description = "Content to filter articles"),
+      @Parameter(name = "fuzzy", description = "Retry content search with fuzzy matching when nothing matches"),
       @Parameter(name = "page", description = "Page number to retrieve"),
       @Parameter(name = "size", description = "Number of articles per page"),
-      @Parameter(name = "sort", description = "Field to sort by"),
+      @Parameter(name = "sort", description = "Field to sort by, 'viewsCount' lists the most read first, content search accepts only 'relevance' and 'createdAt'"),
       @Parameter(name = "order", description = "Order direction, either 'asc' or 'desc'")})
   public ResponseEntity<Page<GetArticle>> getAllArticles(
       @RequestParam(required = false) Long categoryId, @RequestParam(required = false) String tag,
+      @RequestParam(defaultValue = "false") boolean tagPrefix,
       @RequestParam(required = false) String username,
-      @RequestParam(required = false) String content, @RequestParam(defaultValue = "0") int page,
-      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(required = false) String content,
+      @RequestParam(defaultValue = "false") boolean fuzzy,
+      @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
       @RequestParam(defaultValue = "createdAt") String sort,
       @RequestParam(defaultValue = "desc") String order) {
 
     Sort.Direction sortDirection = Sort.Direction.fromString(order);
-    Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
-    List<String> supportedLanguages = localizationContext.getSupportedLanguages();
-    Specification<ArticleModel> spec = Specification.where(
-            ArticleSpecifications.hasCategoryId(categoryId)).and(ArticleSpecifications.hasTagName(tag))
-        .and(ArticleSpecifications.hasUsername(username))
-        .and(ArticleSpecifications.hasSupportedLanguage(supportedLanguages))
-        .and(ArticleSpecifications.hasStatus(Status.PUBLISHED));
+    Pageable pageable = PageRequest.of(page, size,
+        Sort.by(sortDirection, sort).and(Sort.by(sortDirection, "id")));
+    ArticleFilter filter = publishedArticlesFilter(categoryId, tag, tagPrefix, username);
 
     Page<GetArticle> articles;
 
     if (content != null && !content.isEmpty()) {
-      articles = articleService.searchAndFilterArticles(content, spec, pageable);
+      if (!CONTENT_SEARCH_SORTS.contains(sort)) {
+        throw new IllegalArgumentException(
+            "Content search can only be sorted by relevance or createdAt, not " + sort);
+      }
+      articles = articleService.searchAndFilterArticles(content, filter, fuzzy, pageable);
     } else {
-      articles = articleService.getArticles(spec, pageable);
+      articles = articleService.getArticles(filter, pageable);
     }
 
     return ResponseEntity.ok(articles);
   }
 
+  @GetMapping("/search")
+  @Operation(summary = "Search articles by content", description = "Retrieve published articles matching the content in relevance order with highlighted title and content fragments. Results are served from the search index only.")
+  @Parameters({@Parameter(name = "content", description = "Content to search for"),
+      @Parameter(name = "categoryId", description = "Category id to filter articles"),
+      @Parameter(name = "tag", description = "Tag to filter articles, matched exactly ignoring case"),
+      @Parameter(name = "tagPrefix", description = "Match all tags starting with the tag instead"),
+      @Parameter(name = "username", description = "Author username to filter articles"),
+      @Parameter(name = "fuzzy", description = "Retry with fuzzy matching when nothing matches"),
+      @Parameter(name = "page", description = "Page number to retrieve"),
+      @Parameter(name = "size", description = "Number of articles per page")})
+  public ResponseEntity<Page<ArticleSearchHit>> searchArticles(@RequestParam String content,
+      @RequestParam(required = false) Long categoryId, @RequestParam(required = false) String tag,
+      @RequestParam(defaultValue = "false") boolean tagPrefix,
+      @RequestParam(required = false) String username,
+      @RequestParam(defaultValue = "false") boolean fuzzy,
+      @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
+    return ResponseEntity.ok(articleService.searchArticles(content,
+        publishedArticlesFilter(categoryId, tag, tagPrefix, username), fuzzy,
+        PageRequest.of(page, size)));
+  }
+
+  @GetMapping(params = "cursor")
+  @Operation(summary = "Get articles page by page with a cursor", description = "Retrieve articles newest first using keyset pagination. Pass an empty cursor for the first page and the returned nextCursor for the following pages. No total count is calculated.")
+  @Parameters({@Parameter(name = "categoryId", description = "Category id to filter articles"),
+      @Parameter(name = "tag", description = "Tag to filter articles, matched exactly ignoring case"),
+      @Parameter(name = "tagPrefix", description = "Match all tags starting with the tag instead"),
+      @Parameter(name = "username", description = "Author username to filter articles"),
+      @Parameter(name = "cursor", description = "Cursor returned with the previous page"),
+      @Parameter(name = "size", description = "Number of articles per page, capped at the configured maximum")})
+  public ResponseEntity<CursorPage<GetArticle>> getArticlesByCursor(
+      @RequestParam(required = false) Long categoryId, @RequestParam(required = false) String tag,
+      @RequestParam(defaultValue = "false") boolean tagPrefix,
+      @RequestParam(required = false) String username,
+      @RequestParam(required = false) String content, @RequestParam String cursor,
+      @RequestParam(defaultValue = "10") @Min(value = 1, message = "Size must be at least 1") int size) {
+    if (content != null && !content.isEmpty()) {
+      throw new IllegalArgumentException("Cursor pagination is not supported for content search");
+    }
+    return ResponseEntity.ok(articleService.getArticlesByCursor(
+        publishedArticlesFilter(categoryId, tag, tagPrefix, username), cursor, size));
+  }
+
+  @GetMapping("/trending")
+  @Operation(summary = "Get trending articles", description = "Retrieve published articles ranked by a time-decayed score of their recent views, bookmarks and comments. The ranking is refreshed periodically.")
+  @Parameters({@Parameter(name = "limit", description = "Number of articles to retrieve")})
+  public ResponseEntity<List<GetArticle>> getTrendingArticles(
+      @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(trendingService.getTrendingArticles(limit));
+  }
+
   @GetMapping("/{id}")
   @Operation(summary = "Get an article")
   public ResponseEntity<GetArticle> getArticleById(@PathVariable Long id) {
@@ -207,4 +267,11 @@ public class ArticleController {
     articleService.unbookmark(userDetails.getUsername(), id);
     return ResponseEntity.noContent().build();
   }
+
+  private ArticleFilter publishedArticlesFilter(Long categoryId, String tag, boolean tagPrefix,
+      String username) {
+    return ArticleFilter.builder().categoryId(categoryId).tag(tag).tagPrefix(tagPrefix)
+        .username(username)
+        .languages(localizationContext.getSupportedLanguages()).status(Status.PUBLISHED).build();
+  }
 }
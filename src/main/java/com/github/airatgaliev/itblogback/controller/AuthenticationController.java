@@ -57,9 +57,10 @@ public class AuthenticationController {
   @PostMapping("/sign-in")
   @Operation(summary = "Authenticate a user")
   public ResponseEntity<AuthenticationResponse> signIn(
-      @Valid @RequestBody SignInRequest signInRequest, HttpServletResponse response) {
+      @Valid @RequestBody SignInRequest signInRequest, HttpServletRequest request,
+      HttpServletResponse response) {
     AuthenticationResponse authenticatedUser = authenticationService.signIn(signInRequest,
-        response);
+        request, response);
     return ResponseEntity.ok(authenticatedUser);
   }
 
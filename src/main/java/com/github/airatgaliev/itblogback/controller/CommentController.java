@@ -1,12 +1,16 @@
 package com.github.airatgaliev.itblogback.controller;
 
 import com.github.airatgaliev.itblogback.dto.CreateComment;
+import com.github.airatgaliev.itblogback.dto.CursorPage;
 import com.github.airatgaliev.itblogback.dto.GetComment;
 import com.github.airatgaliev.itblogback.dto.UpdateComment;
 import com.github.airatgaliev.itblogback.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.Parameters;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Min;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,6 +24,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Validated
@@ -37,6 +42,26 @@ public class CommentController {
     return commentService.getCommentsByArticleId(articleId);
   }
 
+  @GetMapping(value = "/article/{articleId}", params = "cursor")
+  @Operation(summary = "Get top-level comments for an article page by page", description = "Retrieve top-level comments oldest first with their reply counts. Pass an empty cursor for the first page and the returned nextCursor for the following pages.")
+  @Parameters({@Parameter(name = "cursor", description = "Cursor returned with the previous page"),
+      @Parameter(name = "size", description = "Number of comments per page, capped at the configured maximum")})
+  public CursorPage<GetComment> getCommentsByArticleId(@PathVariable Long articleId,
+      @RequestParam String cursor,
+      @RequestParam(defaultValue = "20") @Min(value = 1, message = "Size must be at least 1") int size) {
+    return commentService.getCommentsByArticleId(articleId, cursor, size);
+  }
+
+  @GetMapping("/{commentId}/replies")
+  @Operation(summary = "Get replies to a comment page by page", description = "Retrieve direct replies to a comment oldest first with their own reply counts.")
+  @Parameters({@Parameter(name = "cursor", description = "Cursor returned with the previous page"),
+      @Parameter(name = "size", description = "Number of replies per page, capped at the configured maximum")})
+  public CursorPage<GetComment> getReplies(@PathVariable Long commentId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") @Min(value = 1, message = "Size must be at least 1") int size) {
+    return commentService.getReplies(commentId, cursor, size);
+  }
+
   @PostMapping
   @Operation(summary = "Add a new comment")
   @SecurityRequirement(name = "bearerAuth")
@@ -47,10 +72,14 @@ public class CommentController {
   }
 
   @GetMapping("/user/{username}")
-  @Operation(summary = "Get all comments created by a user")
+  @Operation(summary = "Get comments created by a user page by page", description = "Retrieve the user's comments newest first with the commented article. Omit the cursor for the first page and pass the returned nextCursor for the following pages.")
   @SecurityRequirement(name = "bearerAuth")
-  public List<GetComment> getCommentsByUsername(@PathVariable String username) {
-    return commentService.getCommentsByUsername(username);
+  @Parameters({@Parameter(name = "cursor", description = "Cursor returned with the previous page"),
+      @Parameter(name = "size", description = "Number of comments per page, capped at the configured maximum")})
+  public CursorPage<GetComment> getCommentsByUsername(@PathVariable String username,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") @Min(value = 1, message = "Size must be at least 1") int size) {
+    return commentService.getCommentsByUsername(username, cursor, size);
   }
 
   @PutMapping("/{commentId}")
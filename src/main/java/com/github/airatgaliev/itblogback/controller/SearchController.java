@@ -0,0 +1,34 @@
+package com.github.airatgaliev.itblogback.controller;
+
+import com.github.airatgaliev.itblogback.dto.GetSuggestions;
+import com.github.airatgaliev.itblogback.service.SearchSuggestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.Parameters;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Validated
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/search")
+@Tag(name = "Search", description = "API for blog search")
+public class SearchController {
+
+  private final SearchSuggestService searchSuggestService;
+
+  @GetMapping("/suggest")
+  @Operation(summary = "Get search suggestions", description = "Retrieve tags, article titles and authors starting with the typed text, ranked by relevance. Suggestions are served from the search index only.")
+  @Parameters({@Parameter(name = "query", description = "Text typed so far"),
+      @Parameter(name = "limit", description = "Maximum number of suggestions of each kind")})
+  public ResponseEntity<GetSuggestions> suggest(@RequestParam String query,
+      @RequestParam(defaultValue = "5") int limit) {
+    return ResponseEntity.ok(searchSuggestService.suggest(query, limit));
+  }
+}
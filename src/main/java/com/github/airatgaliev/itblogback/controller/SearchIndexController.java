@@ -0,0 +1,33 @@
+package com.github.airatgaliev.itblogback.controller;
+
+import com.github.airatgaliev.itblogback.dto.GetReindexProgress;
+import com.github.airatgaliev.itblogback.service.SearchIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/search")
+@Tag(name = "Search index", description = "API for search index administration")
+public class SearchIndexController {
+
+  private final SearchIndexService searchIndexService;
+
+  @GetMapping("/reindex")
+  @Operation(summary = "Get progress of the latest search reindex")
+  @SecurityRequirement(name = "bearerAuth")
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  public ResponseEntity<GetReindexProgress> getReindexProgress() {
+    return searchIndexService.getReindexProgress()
+        .map(progress -> new ResponseEntity<>(progress, HttpStatus.OK))
+        .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+  }
+}
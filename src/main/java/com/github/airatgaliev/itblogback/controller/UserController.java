@@ -1,8 +1,11 @@
 package com.github.airatgaliev.itblogback.controller;
 
+import com.github.airatgaliev.itblogback.dto.CursorPage;
+import com.github.airatgaliev.itblogback.dto.GetArticle;
 import com.github.airatgaliev.itblogback.dto.GetUser;
 import com.github.airatgaliev.itblogback.dto.UpdateUser;
 import com.github.airatgaliev.itblogback.dto.UserRole;
+import com.github.airatgaliev.itblogback.service.FeedService;
 import com.github.airatgaliev.itblogback.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,12 +13,18 @@ import io.swagger.v3.oas.annotations.Parameters;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import java.util.List;
+import jakarta.validation.constraints.Min;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -44,23 +53,30 @@ import org.springframework.web.multipart.MultipartFile;
 public class UserController {
 
   private final UserService userService;
+  private final FeedService feedService;
+
+  @Value("${user.directory.max-page-size}")
+  private int maxPageSize;
 
   @GetMapping
-  @Operation(summary = "Get all users")
+  @Operation(summary = "Get all users", description = "Retrieve users page by page, optionally filtered by role and by the category of their articles.")
   @Parameters({
       @Parameter(name = "role", description = "Role to filter users", schema = @Schema(implementation = UserRole.class)),
-      @Parameter(name = "categoryId", description = "Category id to filter authors")})
-  public ResponseEntity<List<GetUser>> getAllAuthors(@RequestParam(required = false) UserRole role,
-      @RequestParam(required = false) Long categoryId) {
-    List<GetUser> users;
-    if (categoryId != null && role == UserRole.ROLE_AUTHOR) {
-      users = userService.getAllAuthorsByCategoryId(categoryId);
-    } else if (role != null) {
-      users = userService.getAllByRole(role.toRole());
-    } else {
-      users = userService.getAllUsers();
-    }
-    return ResponseEntity.ok(users);
+      @Parameter(name = "categoryId", description = "Category id to filter authors"),
+      @Parameter(name = "page", description = "Page number to retrieve"),
+      @Parameter(name = "size", description = "Number of users per page"),
+      @Parameter(name = "sort", description = "Field to sort by, one of 'username', 'createdAt' or 'subscribersCount'"),
+      @Parameter(name = "order", description = "Order direction, either 'asc' or 'desc'")})
+  public ResponseEntity<Page<GetUser>> getAllAuthors(@RequestParam(required = false) UserRole role,
+      @RequestParam(required = false) Long categoryId,
+      @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size,
+      @RequestParam(defaultValue = "username") String sort,
+      @RequestParam(defaultValue = "asc") String order) {
+    Sort.Direction sortDirection = Sort.Direction.fromString(order);
+    Pageable pageable = PageRequest.of(page, Math.min(size, maxPageSize),
+        Sort.by(sortDirection, sort).and(Sort.by(sortDirection, "id")));
+    return ResponseEntity.ok(
+        userService.getUsers(role != null ? role.toRole() : null, categoryId, pageable));
   }
 
   @GetMapping("/{username}")
@@ -71,14 +87,49 @@ public class UserController {
         .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
   }
 
+  @GetMapping("/{username}/subscribers")
+  @Operation(summary = "Get subscribers of a user page by page", description = "Retrieve the users subscribed to the user, most recent subscriptions first. Pass the returned nextCursor to get the following page.")
+  @Parameters({@Parameter(name = "cursor", description = "Cursor returned with the previous page"),
+      @Parameter(name = "size", description = "Number of users per page, capped at the configured maximum")})
+  public ResponseEntity<CursorPage<GetUser>> getSubscribers(@PathVariable String username,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") @Min(value = 1, message = "Size must be at least 1") int size) {
+    return ResponseEntity.ok(userService.getSubscribers(username, cursor, size));
+  }
+
+  @GetMapping("/{username}/subscriptions")
+  @Operation(summary = "Get subscriptions of a user page by page", description = "Retrieve the users the user is subscribed to, most recent subscriptions first. Pass the returned nextCursor to get the following page.")
+  @Parameters({@Parameter(name = "cursor", description = "Cursor returned with the previous page"),
+      @Parameter(name = "size", description = "Number of users per page, capped at the configured maximum")})
+  public ResponseEntity<CursorPage<GetUser>> getSubscriptions(@PathVariable String username,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") @Min(value = 1, message = "Size must be at least 1") int size) {
+    return ResponseEntity.ok(userService.getSubscriptions(username, cursor, size));
+  }
+
+  @GetMapping("/me/feed")
+  @Operation(summary = "Get the authenticated user's feed", description = "Retrieve articles published by the authors the user is subscribed to, newest first. Pass the returned nextCursor to get the following page.")
+  @SecurityRequirement(name = "bearerAuth")
+  @PreAuthorize("isAuthenticated()")
+  @Parameters({@Parameter(name = "cursor", description = "Cursor returned with the previous page"),
+      @Parameter(name = "size", description = "Number of articles per page, capped at the configured maximum")})
+  public ResponseEntity<CursorPage<GetArticle>> getFeed(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") @Min(value = 1, message = "Size must be at least 1") int size,
+      @AuthenticationPrincipal UserDetails userDetails) {
+    return ResponseEntity.ok(feedService.getFeed(userDetails.getUsername(), cursor, size));
+  }
+
   @PutMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
   @Operation(summary = "Update an user by username")
   @SecurityRequirement(name = "bearerAuth")
   public ResponseEntity<Object> updateUser(@Valid @ModelAttribute UpdateUser updateUser,
       @RequestParam(value = "avatar", required = false) MultipartFile avatar,
-      @AuthenticationPrincipal UserDetails userDetails, BindingResult bindingResult) {
+      @AuthenticationPrincipal UserDetails userDetails, BindingResult bindingResult,
+      HttpServletResponse response) {
     updateUser.setAvatar(avatar);
-    GetUser updatedUser = userService.updateUser(updateUser, userDetails, bindingResult);
+    GetUser updatedUser = userService.updateUser(updateUser, userDetails, bindingResult,
+        response);
     if (bindingResult.hasErrors()) {
       Map<String, String> errors = bindingResult.getFieldErrors().stream().collect(
           Collectors.toMap(FieldError::getField,
@@ -89,6 +140,17 @@ public class UserController {
     return new ResponseEntity<>(updatedUser, HttpStatus.OK);
   }
 
+  @PutMapping("/{username}/role")
+  @Operation(summary = "Change the role of a user", description = "Change the role of a user. Tokens issued before the change are no longer accepted.")
+  @SecurityRequirement(name = "bearerAuth")
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  @Parameters({
+      @Parameter(name = "role", description = "New role of the user", schema = @Schema(implementation = UserRole.class))})
+  public ResponseEntity<GetUser> changeRole(@PathVariable String username,
+      @RequestParam UserRole role) {
+    return ResponseEntity.ok(userService.changeRole(username, role.toRole()));
+  }
+
   @DeleteMapping("/{username}")
   @Operation(summary = "Delete an user by username")
   @SecurityRequirement(name = "bearerAuth")
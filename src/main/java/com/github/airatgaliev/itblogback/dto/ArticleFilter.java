@@ -0,0 +1,23 @@
+package com.github.airatgaliev.itblogback.dto;
+
+import com.github.airatgaliev.itblogback.model.Status;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleFilter {
+
+  private Long categoryId;
+  private String tag;
+  private boolean tagPrefix;
+  private List<Long> tagIds;
+  private String username;
+  private List<String> languages;
+  private Status status;
+}
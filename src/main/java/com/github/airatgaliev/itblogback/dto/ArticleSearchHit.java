@@ -0,0 +1,35 @@
+package com.github.airatgaliev.itblogback.dto;
+
+import com.github.airatgaliev.itblogback.model.Language;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Date;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "Article Search Hit")
+public class ArticleSearchHit {
+
+  @Schema(description = "ID of the article", example = "1")
+  private Long id;
+  @Schema(description = "Language of the article")
+  private Language language;
+  @Schema(description = "Title of the article", example = "My First Blog Article")
+  private String title;
+  @Schema(description = "Highlighted fragments of the title", example = "My First <mark>Blog</mark> Article")
+  private List<String> titleHighlights;
+  @Schema(description = "Highlighted fragments of the content", example = "This is the <mark>blog</mark> content")
+  private List<String> contentHighlights;
+  @Schema(description = "Username associated with the article", example = "JohnDoe")
+  private String username;
+  @Schema(description = "Relevance score of the hit", example = "2.5")
+  private Float score;
+  @Schema(description = "Date and time of the article creation", example = "2022-01-01T00:00:00.000Z")
+  private Date createdAt;
+}
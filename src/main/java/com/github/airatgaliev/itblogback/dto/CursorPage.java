@@ -0,0 +1,25 @@
+package com.github.airatgaliev.itblogback.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "Cursor Page")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+  @Schema(description = "Items of the page")
+  private List<T> content;
+  @Schema(description = "Opaque cursor of the next page, absent on the last page")
+  private String nextCursor;
+  @Schema(description = "Requested page size", example = "10")
+  private int size;
+}
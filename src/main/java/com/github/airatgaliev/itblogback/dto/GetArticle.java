@@ -43,6 +43,8 @@ public class GetArticle {
   private List<GetCategory> categories;
   @Schema(description = "Count of bookmarks of the article", example = "10")
   private Integer bookmarksCount;
+  @Schema(description = "Count of views of the article", example = "100")
+  private Long viewsCount;
   @Schema(description = "Date and time of the article creation", example = "2022-01-01T00:00:00.000Z")
   private Date createdAt;
   @Schema(description = "Date and time of the article update", example = "2022-01-01T01:00:00.000Z")
@@ -24,6 +24,8 @@ public class GetCategory {
   private String description;
   @Schema(description = "Image of the category")
   private String imageUrl;
+  @Schema(description = "Count of articles in the category", example = "42")
+  private Long articlesCount;
   @Schema(description = "Tags associated with the category articles")
   private List<GetTag> tags;
 }
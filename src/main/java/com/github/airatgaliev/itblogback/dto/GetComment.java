@@ -25,6 +25,8 @@ public class GetComment {
   private GetUser user;
   @Schema(description = "Creation date of the comment", example = "2022-01-01T00:00:00.000Z")
   private Date createdAt;
+  @Schema(description = "Count of direct replies to the comment", example = "3")
+  private Long repliesCount;
   @Schema(description = "Replies to the comment")
   private List<GetComment> replies;
   @Schema(description = "Article associated with the comment")
@@ -0,0 +1,37 @@
+package com.github.airatgaliev.itblogback.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "Get Reindex Progress")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GetReindexProgress {
+
+  @Schema(description = "Reindex mode, FULL or INCREMENTAL", example = "INCREMENTAL")
+  private String mode;
+  @Schema(description = "Reindex state, RUNNING, COMPLETED or FAILED", example = "RUNNING")
+  private String state;
+  @Schema(description = "Number of entities to index", example = "1000")
+  private Long totalCount;
+  @Schema(description = "Number of entities loaded from the database", example = "500")
+  private Long entitiesLoaded;
+  @Schema(description = "Number of documents built", example = "500")
+  private Long documentsBuilt;
+  @Schema(description = "Number of documents added to the index", example = "450")
+  private Long documentsAdded;
+  @Schema(description = "Date and time the reindex started", example = "2022-01-01T00:00:00.000Z")
+  private Instant startedAt;
+  @Schema(description = "Date and time the reindex finished", example = "2022-01-01T00:01:00.000Z")
+  private Instant finishedAt;
+  @Schema(description = "Error message of a failed reindex")
+  private String error;
+}
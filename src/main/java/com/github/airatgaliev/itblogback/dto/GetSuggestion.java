@@ -0,0 +1,20 @@
+package com.github.airatgaliev.itblogback.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "Get Suggestion")
+public class GetSuggestion {
+
+  @Schema(description = "ID of the suggested tag, article or user", example = "1")
+  private Long id;
+  @Schema(description = "Suggested text", example = "java")
+  private String text;
+}
@@ -0,0 +1,23 @@
+package com.github.airatgaliev.itblogback.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "Get Suggestions")
+public class GetSuggestions {
+
+  @Schema(description = "Suggested tags")
+  private List<GetSuggestion> tags;
+  @Schema(description = "Suggested article titles")
+  private List<GetSuggestion> articles;
+  @Schema(description = "Suggested authors")
+  private List<GetSuggestion> users;
+}
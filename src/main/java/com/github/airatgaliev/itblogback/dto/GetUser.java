@@ -35,8 +35,8 @@ public class GetUser {
   private String avatarUrl;
   @Schema(description = "List of categories associated with the user")
   private List<GetCategory> categories;
-  @Schema(description = "List of user subscriptions")
-  private List<GetUser> subscriptions;
-  @Schema(description = "List of user subscribers")
-  private List<GetUser> subscribers;
+  @Schema(description = "Count of users the user is subscribed to", example = "10")
+  private Long subscriptionsCount;
+  @Schema(description = "Count of user subscribers", example = "100")
+  private Long subscribersCount;
 }
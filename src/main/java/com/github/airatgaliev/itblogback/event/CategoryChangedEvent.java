@@ -0,0 +1,5 @@
+package com.github.airatgaliev.itblogback.event;
+
+public record CategoryChangedEvent(Long categoryId) {
+
+}
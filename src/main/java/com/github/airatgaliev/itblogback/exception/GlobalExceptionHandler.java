@@ -1,8 +1,12 @@
 package com.github.airatgaliev.itblogback.exception;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -12,6 +16,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 @Slf4j
 @RestControllerAdvice
@@ -29,6 +34,22 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
   }
 
+  @ExceptionHandler(ConstraintViolationException.class)
+  public ResponseEntity<String> handleConstraintViolationException(
+      ConstraintViolationException ex) {
+    return new ResponseEntity<>(ex.getConstraintViolations().stream()
+        .map(ConstraintViolation::getMessage).collect(Collectors.joining(", ")),
+        HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(HandlerMethodValidationException.class)
+  public ResponseEntity<String> handleHandlerMethodValidationException(
+      HandlerMethodValidationException ex) {
+    return new ResponseEntity<>(ex.getAllErrors().stream()
+        .map(MessageSourceResolvable::getDefaultMessage).collect(Collectors.joining(", ")),
+        HttpStatus.BAD_REQUEST);
+  }
+
   @ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
     return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
@@ -124,6 +145,18 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
   }
 
+  @ExceptionHandler(PasswordHashingBusyException.class)
+  public ResponseEntity<String> handlePasswordHashingBusyException(
+      PasswordHashingBusyException ex) {
+    return new ResponseEntity<>(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+  }
+
+  @ExceptionHandler(LoginRateLimitExceededException.class)
+  public ResponseEntity<String> handleLoginRateLimitExceededException(
+      LoginRateLimitExceededException ex) {
+    return new ResponseEntity<>(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<String> handleAllExceptions(Exception ex) {
     log.error("Unhandled exception occurred: ", ex);
@@ -0,0 +1,8 @@
+package com.github.airatgaliev.itblogback.exception;
+
+public class LoginRateLimitExceededException extends RuntimeException {
+
+  public LoginRateLimitExceededException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package com.github.airatgaliev.itblogback.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+
+  public PasswordHashingBusyException(String message) {
+    super(message);
+  }
+}
@@ -1,5 +1,7 @@
 package com.github.airatgaliev.itblogback.model;
 
+import com.github.airatgaliev.itblogback.config.SearchAnalysisConfigurer;
+import com.github.airatgaliev.itblogback.search.ArticleLanguageBinder;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,6 +11,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -23,65 +26,91 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.engine.backend.types.Sortable;
+import org.hibernate.search.mapper.pojo.bridge.mapping.annotation.TypeBinderRef;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexedEmbedded;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.TypeBinding;
 
 @Data
 @Entity
 @Builder
 @Indexed
 @NoArgsConstructor
+@TypeBinding(binder = @TypeBinderRef(type = ArticleLanguageBinder.class))
 @AllArgsConstructor
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+    @Index(name = "idx_articles_status_created_at_id", columnList = "status, created_at DESC, id DESC"),
+    @Index(name = "idx_articles_status_views_count_id", columnList = "status, views_count DESC, id DESC"),
+    @Index(name = "idx_articles_user_id", columnList = "user_id"),
+    @Index(name = "idx_articles_user_id_published_at_id", columnList = "user_id, published_at DESC, id DESC")})
 public class ArticleModel {
 
   @Id
+  @GenericField(sortable = Sortable.YES)
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   @Column(nullable = false)
   private Long id;
   @Builder.Default
+  @KeywordField
   @Enumerated(EnumType.STRING)
   @Column(nullable = false)
   private Status status = Status.DRAFT;
+  @KeywordField(projectable = Projectable.YES)
   @Enumerated(EnumType.STRING)
   private Language language;
   private Long originalArticleId;
-  @FullTextField
+  @FullTextField(name = "suggest", analyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_INDEXING, searchAnalyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_SEARCH, projectable = Projectable.YES)
   @Column(nullable = false)
   private String title;
-  @FullTextField
   @Column(columnDefinition = "TEXT")
   private String previewContent;
-  @FullTextField
+  @Builder.Default
+  @ColumnDefault("false")
+  @Column(nullable = false)
+  private boolean previewGenerated = false;
   @Column(columnDefinition = "TEXT")
   private String content;
-  @IndexedEmbedded
+  @IndexedEmbedded(includePaths = "username")
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id", nullable = false)
   private UserModel user;
   @Builder.Default
-  @IndexedEmbedded
+  @IndexedEmbedded(includePaths = "id")
   @ManyToMany(fetch = FetchType.LAZY)
-  @JoinTable(name = "article_categories", joinColumns = @JoinColumn(name = "article_id"), inverseJoinColumns = @JoinColumn(name = "category_id"))
+  @JoinTable(name = "article_categories", joinColumns = @JoinColumn(name = "article_id"), inverseJoinColumns = @JoinColumn(name = "category_id"), indexes = @Index(name = "idx_article_categories_category_id_article_id", columnList = "category_id, article_id"))
   private List<CategoryModel> categories = new ArrayList<>();
   @Builder.Default
   @OneToMany(mappedBy = "article", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
   private List<BookmarkModel> bookmarks = new ArrayList<>();
+  @ColumnDefault("0")
+  @Column(name = "bookmarks_count", nullable = false, insertable = false, updatable = false)
+  private long bookmarksCount;
+  @ColumnDefault("0")
+  @Column(name = "views_count", nullable = false, insertable = false, updatable = false)
+  private long viewsCount;
   @Builder.Default
-  @IndexedEmbedded
+  @IndexedEmbedded(includePaths = {"id", "name"})
   @ManyToMany(fetch = FetchType.LAZY)
-  @JoinTable(name = "article_tags", joinColumns = @JoinColumn(name = "article_id"), inverseJoinColumns = @JoinColumn(name = "tag_id"))
+  @JoinTable(name = "article_tags", joinColumns = @JoinColumn(name = "article_id"), inverseJoinColumns = @JoinColumn(name = "tag_id"), indexes = @Index(name = "idx_article_tags_tag_id_article_id", columnList = "tag_id, article_id"))
   private List<TagModel> tags = new ArrayList<>();
   @OneToMany(mappedBy = "article", cascade = CascadeType.ALL, orphanRemoval = true)
   @OrderBy("createdAt ASC")
   private List<CommentModel> comments = new ArrayList<>();
   @CreationTimestamp
+  @GenericField(sortable = Sortable.YES, projectable = Projectable.YES)
   @Column(nullable = false, updatable = false, name = "created_at")
   private Date createdAt;
   @UpdateTimestamp
   @Column(name = "updated_at")
   private Date updatedAt;
+  @Column(name = "published_at")
+  private Date publishedAt;
 }
\ No newline at end of file
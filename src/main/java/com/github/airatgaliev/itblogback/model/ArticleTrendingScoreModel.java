@@ -0,0 +1,28 @@
+package com.github.airatgaliev.itblogback.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "article_trending_scores")
+public class ArticleTrendingScoreModel {
+
+  @Id
+  @Column(name = "article_id", nullable = false)
+  private Long articleId;
+  @Column(nullable = false)
+  private double score;
+  @Column(name = "scored_at", nullable = false)
+  private Date scoredAt;
+}
@@ -21,6 +21,8 @@ import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
 
 @Entity
 @Table(name = "categories")
@@ -30,6 +32,7 @@ import lombok.NoArgsConstructor;
 public class CategoryModel {
 
   @Id
+  @GenericField
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   @Column(nullable = false)
   private Long id;
@@ -46,6 +49,9 @@ public class CategoryModel {
   private Map<Language, String> description = new HashMap<>();
   @Column(name = "image_url")
   private String imageUrl;
+  @ColumnDefault("0")
+  @Column(name = "article_count", nullable = false, insertable = false, updatable = false)
+  private long articleCount;
   @ManyToMany(fetch = FetchType.LAZY, mappedBy = "categories")
   private List<ArticleModel> articles = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.github.airatgaliev.itblogback.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(CategoryTagStatModel.Key.class)
+@Table(name = "category_tag_stats", indexes = @Index(name = "idx_category_tag_stats_category_count", columnList = "category_id, article_count DESC, tag_id"))
+public class CategoryTagStatModel {
+
+  @Id
+  @Column(name = "category_id", nullable = false)
+  private Long categoryId;
+  @Id
+  @Column(name = "tag_id", nullable = false)
+  private Long tagId;
+  @Column(name = "article_count", nullable = false)
+  private long articleCount;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+
+    private Long categoryId;
+    private Long tagId;
+  }
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -20,6 +21,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 @Data
@@ -27,7 +29,10 @@ import org.hibernate.annotations.CreationTimestamp;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_article_id_created_at_id", columnList = "article_id, created_at, id"),
+    @Index(name = "idx_comments_parent_comment_id_created_at_id", columnList = "parent_comment_id, created_at, id"),
+    @Index(name = "idx_comments_user_id_created_at_id", columnList = "user_id, created_at DESC, id DESC")})
 public class CommentModel {
 
   @Id
@@ -51,6 +56,9 @@ public class CommentModel {
   @OneToMany(mappedBy = "parentComment", orphanRemoval = true)
   @OrderBy("createdAt ASC")
   private List<CommentModel> replies = new ArrayList<>();
+  @ColumnDefault("0")
+  @Column(name = "replies_count", nullable = false, insertable = false, updatable = false)
+  private long repliesCount;
   @CreationTimestamp
   @Column(nullable = false, updatable = false, name = "created_at")
   private Date createdAt;
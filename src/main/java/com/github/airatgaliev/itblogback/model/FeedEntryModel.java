@@ -0,0 +1,44 @@
+package com.github.airatgaliev.itblogback.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(FeedEntryModel.Key.class)
+@Table(name = "feed_entries", indexes = {
+    @Index(name = "idx_feed_entries_user_created_at_article", columnList = "user_id, created_at DESC, article_id DESC"),
+    @Index(name = "idx_feed_entries_article_id_created_at", columnList = "article_id, created_at")})
+public class FeedEntryModel {
+
+  @Id
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+  @Id
+  @Column(name = "article_id", nullable = false)
+  private Long articleId;
+  @Column(name = "created_at", nullable = false)
+  private Date createdAt;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+
+    private Long userId;
+    private Long articleId;
+  }
+}
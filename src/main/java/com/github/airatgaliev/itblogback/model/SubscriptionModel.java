@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -19,7 +20,11 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "subscriptions")
+@Table(name = "subscriptions", indexes = {
+    @Index(name = "idx_subscriptions_user_id_subscriber_id", columnList = "user_id, subscriber_id"),
+    @Index(name = "idx_subscriptions_subscriber_id_user_id", columnList = "subscriber_id, user_id"),
+    @Index(name = "idx_subscriptions_user_id_id", columnList = "user_id, id DESC"),
+    @Index(name = "idx_subscriptions_subscriber_id_id", columnList = "subscriber_id, id DESC")})
 public class SubscriptionModel {
 
   @Id
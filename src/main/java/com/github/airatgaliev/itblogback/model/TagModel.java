@@ -1,5 +1,6 @@
 package com.github.airatgaliev.itblogback.model;
 
+import com.github.airatgaliev.itblogback.config.SearchAnalysisConfigurer;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -14,21 +15,34 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 
 @Data
 @Entity
 @Builder
+@Indexed
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "tags")
 public class TagModel {
 
   @Id
+  @GenericField
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   @Column(nullable = false)
   private Long id;
+  @KeywordField(normalizer = "lowercase")
+  @FullTextField(name = "suggest", analyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_INDEXING, searchAnalyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_SEARCH, projectable = Projectable.YES)
   @Column(nullable = false, unique = true)
   private String name;
+  @ColumnDefault("0")
+  @Column(name = "article_count", nullable = false, insertable = false, updatable = false)
+  private long articleCount;
   @ManyToMany(fetch = FetchType.LAZY, mappedBy = "tags")
   private List<ArticleModel> articles = new ArrayList<>();
 }
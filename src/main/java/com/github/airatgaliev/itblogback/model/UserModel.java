@@ -1,5 +1,6 @@
 package com.github.airatgaliev.itblogback.model;
 
+import com.github.airatgaliev.itblogback.config.SearchAnalysisConfigurer;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,6 +10,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
@@ -21,8 +23,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,10 +38,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 @Data
 @Entity
 @Builder
+@Indexed
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "users", uniqueConstraints = {@UniqueConstraint(columnNames = "username"),
-    @UniqueConstraint(columnNames = "email")})
+    @UniqueConstraint(columnNames = "email")}, indexes = {
+    @Index(name = "idx_users_subscribers_count_id", columnList = "subscribers_count DESC, id DESC"),
+    @Index(name = "idx_users_created_at_id", columnList = "created_at DESC, id DESC")})
 public class UserModel implements UserDetails {
 
   @Id
@@ -44,6 +55,8 @@ public class UserModel implements UserDetails {
   private Integer githubId;
   @Column(unique = true)
   private Integer gitlabId;
+  @KeywordField(projectable = Projectable.YES)
+  @FullTextField(name = "suggest", analyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_INDEXING, searchAnalyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_SEARCH, projectable = Projectable.YES)
   @Column(unique = true, nullable = false)
   private String username;
   @Column(unique = true, nullable = false)
@@ -55,17 +68,28 @@ public class UserModel implements UserDetails {
   private String shortInfo;
   private String bio;
   private String avatarUrl;
+  @GenericField
   @Column(nullable = false)
   private boolean enabled = false;
+  @KeywordField
   @Enumerated(EnumType.STRING)
   @Column(nullable = false)
   private Role role;
+  @ColumnDefault("0")
+  @Column(name = "token_version", nullable = false, insertable = false, updatable = false)
+  private int tokenVersion;
   @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.REMOVE)
   private List<ArticleModel> articles;
   @OneToMany(mappedBy = "subscriber", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
   private List<SubscriptionModel> subscriptions = new ArrayList<>();
   @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
   private List<SubscriptionModel> subscribers = new ArrayList<>();
+  @ColumnDefault("0")
+  @Column(name = "subscribers_count", nullable = false, insertable = false, updatable = false)
+  private long subscribersCount;
+  @ColumnDefault("0")
+  @Column(name = "subscriptions_count", nullable = false, insertable = false, updatable = false)
+  private long subscriptionsCount;
   @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
   private List<BookmarkModel> bookmarks = new ArrayList<>();
   @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
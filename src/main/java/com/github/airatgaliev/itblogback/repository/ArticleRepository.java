@@ -3,21 +3,108 @@ package com.github.airatgaliev.itblogback.repository;
 import com.github.airatgaliev.itblogback.model.ArticleModel;
 import com.github.airatgaliev.itblogback.model.Status;
 import com.github.airatgaliev.itblogback.model.UserModel;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleCategoryName;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleContent;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleCounters;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleSummary;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleTagName;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleTitle;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleVersion;
+import com.github.airatgaliev.itblogback.repository.projections.FeedItem;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<ArticleModel, Long>,
-    JpaSpecificationExecutor<ArticleModel> {
+    JpaSpecificationExecutor<ArticleModel>, ArticleRepositoryCustom {
 
   Page<ArticleModel> findAllAndByStatus(@Nullable Specification<ArticleModel> spec,
       Pageable pageable, Status status);
 
   List<ArticleModel> findAllByUserAndStatus(UserModel user, Status status);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.ArticleSummary("
+      + "a.id, a.status, a.language, a.originalArticleId, a.title, a.previewContent, "
+      + "u.username, u.avatarUrl, a.bookmarksCount, a.viewsCount, a.createdAt, a.updatedAt) "
+      + "FROM ArticleModel a JOIN a.user u WHERE a.id IN :ids")
+  List<ArticleSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.ArticleCategoryName("
+      + "a.id, c.id, KEY(n), VALUE(n)) FROM ArticleModel a JOIN a.categories c "
+      + "LEFT JOIN c.name n WHERE a.id IN :ids")
+  List<ArticleCategoryName> findCategoryNamesByArticleIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.ArticleTagName("
+      + "a.id, t.id, t.name) FROM ArticleModel a JOIN a.tags t WHERE a.id IN :ids")
+  List<ArticleTagName> findTagNamesByArticleIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.ArticleTitle("
+      + "a.id, a.title) FROM ArticleModel a WHERE a.id IN :ids")
+  List<ArticleTitle> findTitlesByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.ArticleCounters("
+      + "a.viewsCount, a.bookmarksCount) FROM ArticleModel a WHERE a.id = :id")
+  Optional<ArticleCounters> findCountersById(@Param("id") Long id);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.ArticleVersion("
+      + "a.id, COALESCE(a.updatedAt, a.createdAt)) FROM ArticleModel a "
+      + "ORDER BY COALESCE(a.updatedAt, a.createdAt) DESC, a.id DESC")
+  List<ArticleVersion> findLatestVersions(Pageable pageable);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.ArticleContent("
+      + "a.id, a.content) FROM ArticleModel a WHERE a.id > :afterId AND a.content IS NOT NULL "
+      + "AND (a.previewContent IS NULL OR a.previewContent = '') ORDER BY a.id")
+  List<ArticleContent> findContentsWithoutPreview(@Param("afterId") Long afterId,
+      Pageable pageable);
+
+  @Query("SELECT a.id FROM ArticleModel a WHERE a.id IN :ids AND a.status = :status")
+  List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids,
+      @Param("status") Status status);
+
+  @Query("SELECT a.id FROM ArticleModel a WHERE a.user.id = :userId")
+  List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+  @Modifying
+  @Query(value = "UPDATE articles SET bookmarks_count = GREATEST(bookmarks_count + :delta, 0) "
+      + "WHERE id = :id", nativeQuery = true)
+  void addBookmarksCount(@Param("id") Long id, @Param("delta") int delta);
+
+  @Modifying
+  @Query(value = "UPDATE articles a SET bookmarks_count = c.bookmarks_count FROM ("
+      + "SELECT a2.id, COUNT(b.id) AS bookmarks_count FROM articles a2 "
+      + "LEFT JOIN bookmarks b ON b.article_id = a2.id GROUP BY a2.id) c "
+      + "WHERE a.id = c.id AND a.bookmarks_count <> c.bookmarks_count", nativeQuery = true)
+  int recountBookmarks();
+
+  @Modifying
+  @Query("UPDATE ArticleModel a SET a.previewContent = :previewContent, "
+      + "a.previewGenerated = true WHERE a.id = :id")
+  void updateGeneratedPreview(@Param("id") Long id, @Param("previewContent") String previewContent);
+
+  @Modifying
+  @Query("UPDATE ArticleModel a SET a.publishedAt = a.createdAt WHERE a.publishedAt IS NULL "
+      + "AND a.status IN (com.github.airatgaliev.itblogback.model.Status.PUBLISHED, "
+      + "com.github.airatgaliev.itblogback.model.Status.HIDDEN)")
+  int backfillPublishedAt();
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.FeedItem("
+      + "a.id, a.publishedAt) FROM ArticleModel a WHERE a.user.id IN :authorIds "
+      + "AND a.status = com.github.airatgaliev.itblogback.model.Status.PUBLISHED "
+      + "AND (a.publishedAt < :publishedAt OR a.publishedAt = :publishedAt AND a.id < :articleId) "
+      + "ORDER BY a.publishedAt DESC, a.id DESC")
+  List<FeedItem> findFeedItemsByAuthors(@Param("authorIds") Collection<Long> authorIds,
+      @Param("publishedAt") Date publishedAt, @Param("articleId") Long articleId,
+      Pageable pageable);
 }
@@ -0,0 +1,17 @@
+package com.github.airatgaliev.itblogback.repository;
+
+import com.github.airatgaliev.itblogback.model.ArticleModel;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleSummary;
+import com.github.airatgaliev.itblogback.util.KeysetCursor;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ArticleRepositoryCustom {
+
+  Page<ArticleSummary> findSummaries(Specification<ArticleModel> spec, Pageable pageable);
+
+  List<ArticleSummary> findSummariesAfter(Specification<ArticleModel> spec, KeysetCursor cursor,
+      int limit);
+}
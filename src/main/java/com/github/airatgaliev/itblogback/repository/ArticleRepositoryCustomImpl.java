@@ -0,0 +1,96 @@
+package com.github.airatgaliev.itblogback.repository;
+
+import com.github.airatgaliev.itblogback.model.ArticleModel;
+import com.github.airatgaliev.itblogback.model.UserModel;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleSummary;
+import com.github.airatgaliev.itblogback.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+@RequiredArgsConstructor
+public class ArticleRepositoryCustomImpl implements ArticleRepositoryCustom {
+
+  private final EntityManager entityManager;
+
+  @Override
+  public Page<ArticleSummary> findSummaries(Specification<ArticleModel> spec,
+      Pageable pageable) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<ArticleSummary> query = builder.createQuery(ArticleSummary.class);
+    Root<ArticleModel> root = query.from(ArticleModel.class);
+    applySpecification(spec, root, query, builder);
+    query.select(selectSummary(root, builder));
+    query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+    TypedQuery<ArticleSummary> typedQuery = entityManager.createQuery(query);
+    if (pageable.isPaged()) {
+      typedQuery.setFirstResult((int) pageable.getOffset());
+      typedQuery.setMaxResults(pageable.getPageSize());
+    }
+    List<ArticleSummary> summaries = typedQuery.getResultList();
+    return PageableExecutionUtils.getPage(summaries, pageable, () -> count(spec));
+  }
+
+  @Override
+  public List<ArticleSummary> findSummariesAfter(Specification<ArticleModel> spec,
+      KeysetCursor cursor, int limit) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<ArticleSummary> query = builder.createQuery(ArticleSummary.class);
+    Root<ArticleModel> root = query.from(ArticleModel.class);
+    Specification<ArticleModel> keysetSpec = cursor == null ? spec
+        : Specification.where(spec).and((r, q, b) -> {
+          Path<Date> createdAt = r.get("createdAt");
+          Timestamp cursorCreatedAt = Timestamp.from(cursor.createdAt());
+          return b.or(b.lessThan(createdAt, cursorCreatedAt),
+              b.and(b.equal(createdAt, cursorCreatedAt), b.lessThan(r.get("id"), cursor.id())));
+        });
+    applySpecification(keysetSpec, root, query, builder);
+    query.select(selectSummary(root, builder));
+    query.orderBy(builder.desc(root.get("createdAt")), builder.desc(root.get("id")));
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+
+  private CompoundSelection<ArticleSummary> selectSummary(Root<ArticleModel> root,
+      CriteriaBuilder builder) {
+    Join<ArticleModel, UserModel> user = root.join("user");
+    return builder.construct(ArticleSummary.class, root.get("id"), root.get("status"),
+        root.get("language"), root.get("originalArticleId"), root.get("title"),
+        root.get("previewContent"), user.get("username"), user.get("avatarUrl"),
+        root.get("bookmarksCount"), root.get("viewsCount"), root.get("createdAt"), root.get("updatedAt"));
+  }
+
+  private long count(Specification<ArticleModel> spec) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = builder.createQuery(Long.class);
+    Root<ArticleModel> root = query.from(ArticleModel.class);
+    applySpecification(spec, root, query, builder);
+    query.select(query.isDistinct() ? builder.countDistinct(root) : builder.count(root));
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  private void applySpecification(Specification<ArticleModel> spec, Root<ArticleModel> root,
+      CriteriaQuery<?> query, CriteriaBuilder builder) {
+    if (spec == null) {
+      return;
+    }
+    Predicate predicate = spec.toPredicate(root, query, builder);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+  }
+}
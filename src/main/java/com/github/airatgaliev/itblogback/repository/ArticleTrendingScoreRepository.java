@@ -0,0 +1,11 @@
+package com.github.airatgaliev.itblogback.repository;
+
+import com.github.airatgaliev.itblogback.model.ArticleTrendingScoreModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArticleTrendingScoreRepository extends
+    JpaRepository<ArticleTrendingScoreModel, Long> {
+
+}
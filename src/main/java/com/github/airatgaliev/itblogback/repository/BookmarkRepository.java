@@ -9,7 +9,7 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface BookmarkRepository extends JpaRepository<BookmarkModel, Long> {
 
-  void deleteByUserAndArticle(UserModel user, ArticleModel article);
+  long deleteByUserAndArticle(UserModel user, ArticleModel article);
 
   boolean existsByUserAndArticle(UserModel user, ArticleModel article);
 }
@@ -1,8 +1,12 @@
 package com.github.airatgaliev.itblogback.repository;
 
 import com.github.airatgaliev.itblogback.model.CategoryModel;
+import com.github.airatgaliev.itblogback.repository.projections.UserCategory;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,9 +14,31 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface CategoryRepository extends JpaRepository<CategoryModel, Long> {
 
-  @Query(value = "SELECT c.* FROM categories c "
-      + "JOIN article_categories ac ON c.id = ac.category_id "
-      + "JOIN articles a ON ac.article_id = a.id " + "WHERE a.user_id = :userId "
-      + "GROUP BY c.id", nativeQuery = true)
-  List<CategoryModel> findCategoriesByUserId(@Param("userId") Long userId);
+  @EntityGraph(attributePaths = {"name", "description"})
+  @Query("SELECT c FROM CategoryModel c ORDER BY c.id")
+  List<CategoryModel> findAllWithLocalizations();
+
+  @Modifying
+  @Query(value = "UPDATE categories SET article_count = GREATEST(article_count + :delta, 0) "
+      + "WHERE id IN (:ids)", nativeQuery = true)
+  void addArticleCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+  @Modifying
+  @Query(value = "UPDATE categories c SET article_count = GREATEST(c.article_count - x.count, 0) "
+      + "FROM (SELECT ac.category_id, COUNT(DISTINCT ac.article_id) AS count "
+      + "FROM article_categories ac JOIN articles a ON a.id = ac.article_id "
+      + "WHERE a.user_id = :userId GROUP BY ac.category_id) x "
+      + "WHERE c.id = x.category_id", nativeQuery = true)
+  void subtractArticlesOfUser(@Param("userId") Long userId);
+
+  @Modifying
+  @Query(value = "UPDATE categories c SET article_count = ("
+      + "SELECT COUNT(DISTINCT ac.article_id) FROM article_categories ac "
+      + "WHERE ac.category_id = c.id)", nativeQuery = true)
+  void recountArticles();
+
+  @Query(value = "SELECT DISTINCT a.user_id AS userId, ac.category_id AS categoryId "
+      + "FROM articles a JOIN article_categories ac ON ac.article_id = a.id "
+      + "WHERE a.user_id IN (:userIds) ORDER BY a.user_id, ac.category_id", nativeQuery = true)
+  List<UserCategory> findCategoryIdsByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
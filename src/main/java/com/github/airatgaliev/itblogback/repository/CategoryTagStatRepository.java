@@ -0,0 +1,54 @@
+package com.github.airatgaliev.itblogback.repository;
+
+import com.github.airatgaliev.itblogback.model.CategoryTagStatModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CategoryTagStatRepository extends
+    JpaRepository<CategoryTagStatModel, CategoryTagStatModel.Key> {
+
+  @Modifying
+  @Query(value = "INSERT INTO category_tag_stats (category_id, tag_id, article_count) "
+      + "VALUES (:categoryId, :tagId, GREATEST(:delta, 0)) "
+      + "ON CONFLICT (category_id, tag_id) DO UPDATE "
+      + "SET article_count = GREATEST(category_tag_stats.article_count + :delta, 0)", nativeQuery = true)
+  void addArticleCount(@Param("categoryId") Long categoryId, @Param("tagId") Long tagId,
+      @Param("delta") int delta);
+
+  @Modifying
+  @Query(value = "UPDATE category_tag_stats s "
+      + "SET article_count = GREATEST(s.article_count - x.count, 0) "
+      + "FROM (SELECT ac.category_id, at.tag_id, COUNT(DISTINCT ac.article_id) AS count "
+      + "FROM article_categories ac JOIN article_tags at ON at.article_id = ac.article_id "
+      + "JOIN articles a ON a.id = ac.article_id WHERE a.user_id = :userId "
+      + "GROUP BY ac.category_id, at.tag_id) x "
+      + "WHERE s.category_id = x.category_id AND s.tag_id = x.tag_id", nativeQuery = true)
+  void subtractArticlesOfUser(@Param("userId") Long userId);
+
+  @Modifying
+  @Query(value = "DELETE FROM category_tag_stats WHERE category_id = :categoryId", nativeQuery = true)
+  void deleteByCategoryId(@Param("categoryId") Long categoryId);
+
+  @Modifying
+  @Query(value = "LOCK TABLE categories, tags, category_tag_stats IN EXCLUSIVE MODE", nativeQuery = true)
+  void lockCounters();
+
+  @Modifying
+  @Query(value = "DELETE FROM category_tag_stats", nativeQuery = true)
+  void deleteAllStats();
+
+  @Modifying
+  @Query(value = "INSERT INTO category_tag_stats (category_id, tag_id, article_count) "
+      + "SELECT ac.category_id, at.tag_id, COUNT(DISTINCT ac.article_id) "
+      + "FROM article_categories ac JOIN article_tags at ON at.article_id = ac.article_id "
+      + "GROUP BY ac.category_id, at.tag_id", nativeQuery = true)
+  void rebuildStats();
+
+  @Query(value = "SELECT EXISTS (SELECT 1 FROM category_tag_stats) "
+      + "OR NOT EXISTS (SELECT 1 FROM article_tags)", nativeQuery = true)
+  boolean isPopulated();
+}
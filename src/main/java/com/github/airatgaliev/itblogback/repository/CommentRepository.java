@@ -1,12 +1,67 @@
 package com.github.airatgaliev.itblogback.repository;
 
 import com.github.airatgaliev.itblogback.model.CommentModel;
+import com.github.airatgaliev.itblogback.repository.projections.CommentRow;
+import com.github.airatgaliev.itblogback.repository.projections.UserCommentRow;
+import java.util.Date;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CommentRepository extends JpaRepository<CommentModel, Long> {
 
-  List<CommentModel> findByArticleIdAndParentCommentIsNullOrderByCreatedAtAsc(Long articleId);
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.CommentRow("
+      + "c.id, c.parentComment.id, c.content, u.username, u.avatarUrl, c.repliesCount, "
+      + "c.createdAt) FROM CommentModel c JOIN c.user u WHERE c.article.id = :articleId "
+      + "ORDER BY c.createdAt ASC, c.id ASC")
+  List<CommentRow> findRowsByArticleId(@Param("articleId") Long articleId);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.CommentRow("
+      + "c.id, c.parentComment.id, c.content, u.username, u.avatarUrl, c.repliesCount, "
+      + "c.createdAt) FROM CommentModel c JOIN c.user u WHERE c.article.id = :articleId "
+      + "AND c.parentComment IS NULL "
+      + "AND (c.createdAt > :createdAt OR c.createdAt = :createdAt AND c.id > :id) "
+      + "ORDER BY c.createdAt ASC, c.id ASC")
+  List<CommentRow> findTopLevelRowsAfter(@Param("articleId") Long articleId,
+      @Param("createdAt") Date createdAt, @Param("id") Long id, Pageable pageable);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.CommentRow("
+      + "c.id, c.parentComment.id, c.content, u.username, u.avatarUrl, c.repliesCount, "
+      + "c.createdAt) FROM CommentModel c JOIN c.user u WHERE c.parentComment.id = :parentId "
+      + "AND (c.createdAt > :createdAt OR c.createdAt = :createdAt AND c.id > :id) "
+      + "ORDER BY c.createdAt ASC, c.id ASC")
+  List<CommentRow> findReplyRowsAfter(@Param("parentId") Long parentId,
+      @Param("createdAt") Date createdAt, @Param("id") Long id, Pageable pageable);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.UserCommentRow("
+      + "c.id, c.content, c.createdAt, a.id, a.title) FROM CommentModel c JOIN c.article a "
+      + "WHERE c.user.id = :userId "
+      + "AND (c.createdAt < :createdAt OR c.createdAt = :createdAt AND c.id < :id) "
+      + "ORDER BY c.createdAt DESC, c.id DESC")
+  List<UserCommentRow> findUserCommentRowsBefore(@Param("userId") Long userId,
+      @Param("createdAt") Date createdAt, @Param("id") Long id, Pageable pageable);
+
+  @Modifying
+  @Query(value = "UPDATE comments SET replies_count = GREATEST(replies_count + :delta, 0) "
+      + "WHERE id = :id", nativeQuery = true)
+  void addRepliesCount(@Param("id") Long id, @Param("delta") int delta);
+
+  @Modifying
+  @Query(value = "UPDATE comments p SET replies_count = GREATEST(p.replies_count - x.replies, 0) "
+      + "FROM (SELECT c.parent_comment_id, COUNT(*) AS replies FROM comments c "
+      + "WHERE c.user_id = :userId AND c.parent_comment_id IS NOT NULL "
+      + "GROUP BY c.parent_comment_id) x WHERE p.id = x.parent_comment_id", nativeQuery = true)
+  void subtractRepliesOfUser(@Param("userId") Long userId);
+
+  @Modifying
+  @Query(value = "UPDATE comments c SET replies_count = x.replies_count FROM ("
+      + "SELECT p.id, COUNT(r.id) AS replies_count FROM comments p "
+      + "LEFT JOIN comments r ON r.parent_comment_id = p.id GROUP BY p.id) x "
+      + "WHERE c.id = x.id AND c.replies_count <> x.replies_count", nativeQuery = true)
+  int recountReplies();
 }
@@ -0,0 +1,46 @@
+package com.github.airatgaliev.itblogback.repository;
+
+import com.github.airatgaliev.itblogback.model.FeedEntryModel;
+import com.github.airatgaliev.itblogback.repository.projections.FeedItem;
+import java.util.Date;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FeedEntryRepository extends JpaRepository<FeedEntryModel, FeedEntryModel.Key> {
+
+  @Modifying
+  @Query(value = "INSERT INTO feed_entries (user_id, article_id, created_at) "
+      + "SELECT s.subscriber_id, :articleId, :publishedAt FROM subscriptions s "
+      + "WHERE s.user_id = :authorId ON CONFLICT DO NOTHING", nativeQuery = true)
+  int fanOut(@Param("authorId") Long authorId, @Param("articleId") Long articleId,
+      @Param("publishedAt") Date publishedAt);
+
+  @Modifying
+  @Query(value = "DELETE FROM feed_entries f USING ("
+      + "SELECT o.user_id, o.article_id FROM feed_entries n CROSS JOIN LATERAL ("
+      + "SELECT e.user_id, e.article_id FROM feed_entries e WHERE e.user_id = n.user_id "
+      + "ORDER BY e.created_at DESC, e.article_id DESC OFFSET :maxLength) o "
+      + "WHERE n.article_id = :articleId AND n.created_at = :publishedAt) r "
+      + "WHERE f.user_id = r.user_id AND f.article_id = r.article_id", nativeQuery = true)
+  int trimFeedsReceiving(@Param("articleId") Long articleId,
+      @Param("publishedAt") Date publishedAt, @Param("maxLength") int maxLength);
+
+  @Modifying
+  @Query(value = "DELETE FROM feed_entries WHERE user_id = :userId "
+      + "OR article_id IN (SELECT a.id FROM articles a WHERE a.user_id = :userId)",
+      nativeQuery = true)
+  void deleteEntriesOfUser(@Param("userId") Long userId);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.FeedItem("
+      + "f.articleId, f.createdAt) FROM FeedEntryModel f WHERE f.userId = :userId "
+      + "AND (f.createdAt < :createdAt OR f.createdAt = :createdAt AND f.articleId < :articleId) "
+      + "ORDER BY f.createdAt DESC, f.articleId DESC")
+  List<FeedItem> findFeedItems(@Param("userId") Long userId, @Param("createdAt") Date createdAt,
+      @Param("articleId") Long articleId, Pageable pageable);
+}
@@ -2,7 +2,12 @@ package com.github.airatgaliev.itblogback.repository;
 
 import com.github.airatgaliev.itblogback.model.SubscriptionModel;
 import com.github.airatgaliev.itblogback.model.UserModel;
+import com.github.airatgaliev.itblogback.repository.projections.SubscriptionUser;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -10,5 +15,24 @@ public interface SubscriptionRepository extends JpaRepository<SubscriptionModel,
 
   boolean existsBySubscriberAndUser(UserModel subscriber, UserModel user);
 
-  void deleteBySubscriberAndUser(UserModel subscriber, UserModel user);
+  long deleteBySubscriberAndUser(UserModel subscriber, UserModel user);
+
+  @Query("SELECT s.user.id FROM SubscriptionModel s WHERE s.subscriber.id = :subscriberId "
+      + "AND s.user.subscribersCount > :maxSubscribers")
+  List<Long> findPulledAuthorIds(@Param("subscriberId") Long subscriberId,
+      @Param("maxSubscribers") long maxSubscribers);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.SubscriptionUser("
+      + "s.id, u.username, u.firstName, u.lastName, u.avatarUrl, u.shortInfo) "
+      + "FROM SubscriptionModel s JOIN s.subscriber u WHERE s.user.id = :userId AND s.id < :id "
+      + "ORDER BY s.id DESC")
+  List<SubscriptionUser> findSubscribersBefore(@Param("userId") Long userId,
+      @Param("id") Long id, Pageable pageable);
+
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.SubscriptionUser("
+      + "s.id, u.username, u.firstName, u.lastName, u.avatarUrl, u.shortInfo) "
+      + "FROM SubscriptionModel s JOIN s.user u WHERE s.subscriber.id = :userId AND s.id < :id "
+      + "ORDER BY s.id DESC")
+  List<SubscriptionUser> findSubscriptionsBefore(@Param("userId") Long userId,
+      @Param("id") Long id, Pageable pageable);
 }
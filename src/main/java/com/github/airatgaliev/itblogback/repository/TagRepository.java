@@ -1,9 +1,12 @@
 package com.github.airatgaliev.itblogback.repository;
 
 import com.github.airatgaliev.itblogback.model.TagModel;
+import com.github.airatgaliev.itblogback.repository.projections.CategoryTopTag;
 import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,17 +14,41 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TagRepository extends JpaRepository<TagModel, Long> {
 
-  List<TagModel> findTop10ByNameStartingWithIgnoreCase(String name);
-
-  @Query(value = "SELECT t.* FROM tags t " +
-      "JOIN article_tags at ON t.id = at.tag_id " +
-      "JOIN article_categories ac ON at.article_id = ac.article_id " +
-      "WHERE ac.category_id = :categoryId " +
-      "GROUP BY t.id " +
-      "ORDER BY COUNT(at.article_id) DESC " +
-      "LIMIT 10",
-      nativeQuery = true)
-  List<TagModel> findTop10TagsByCategoryId(@Param("categoryId") Long categoryId);
+  @Query(value = "SELECT ranked.category_id AS categoryId, ranked.tag_id AS tagId, "
+      + "ranked.name AS name FROM ("
+      + "SELECT s.category_id, s.tag_id, t.name, ROW_NUMBER() OVER ("
+      + "PARTITION BY s.category_id ORDER BY s.article_count DESC, s.tag_id) AS position "
+      + "FROM category_tag_stats s JOIN tags t ON t.id = s.tag_id "
+      + "WHERE s.article_count > 0) ranked "
+      + "WHERE ranked.position <= :limit "
+      + "ORDER BY ranked.category_id, ranked.position", nativeQuery = true)
+  List<CategoryTopTag> findTopTagsPerCategory(@Param("limit") int limit);
 
   List<TagModel> findAllByNameIgnoreCaseIn(Collection<String> name);
+
+  @Query("SELECT t.id FROM TagModel t WHERE LOWER(t.name) = LOWER(:name)")
+  List<Long> findIdsByNameIgnoreCase(@Param("name") String name);
+
+  @Query("SELECT t.id FROM TagModel t WHERE LOWER(t.name) LIKE CONCAT(LOWER(:prefix), '%') "
+      + "ESCAPE '\\' ORDER BY t.articleCount DESC, t.id")
+  List<Long> findIdsByNameStartingWith(@Param("prefix") String prefix, Pageable pageable);
+
+  @Modifying
+  @Query(value = "UPDATE tags SET article_count = GREATEST(article_count + :delta, 0) "
+      + "WHERE id IN (:ids)", nativeQuery = true)
+  void addArticleCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+  @Modifying
+  @Query(value = "UPDATE tags t SET article_count = GREATEST(t.article_count - x.count, 0) "
+      + "FROM (SELECT at.tag_id, COUNT(DISTINCT at.article_id) AS count "
+      + "FROM article_tags at JOIN articles a ON a.id = at.article_id "
+      + "WHERE a.user_id = :userId GROUP BY at.tag_id) x "
+      + "WHERE t.id = x.tag_id", nativeQuery = true)
+  void subtractArticlesOfUser(@Param("userId") Long userId);
+
+  @Modifying
+  @Query(value = "UPDATE tags t SET article_count = ("
+      + "SELECT COUNT(DISTINCT at.article_id) FROM article_tags at "
+      + "WHERE at.tag_id = t.id)", nativeQuery = true)
+  void recountArticles();
 }
@@ -2,9 +2,14 @@ package com.github.airatgaliev.itblogback.repository;
 
 import com.github.airatgaliev.itblogback.model.Role;
 import com.github.airatgaliev.itblogback.model.UserModel;
-import java.util.List;
+import com.github.airatgaliev.itblogback.repository.projections.UserState;
+import com.github.airatgaliev.itblogback.repository.projections.UserSummary;
+import java.util.Collection;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,16 +17,31 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface UserRepository extends JpaRepository<UserModel, Long> {
 
-  List<UserModel> findAllByRoleIsNot(Role role);
+  @Query(value = "SELECT new com.github.airatgaliev.itblogback.repository.projections.UserSummary("
+      + "u.id, u.username, u.email, u.firstName, u.lastName, u.shortInfo, u.bio, u.avatarUrl, "
+      + "u.role, u.subscribersCount, u.subscriptionsCount) FROM UserModel u "
+      + "WHERE u.role IN :roles",
+      countQuery = "SELECT COUNT(u) FROM UserModel u WHERE u.role IN :roles")
+  Page<UserSummary> findSummariesByRoleIn(@Param("roles") Collection<Role> roles,
+      Pageable pageable);
 
-  List<UserModel> findAllByRoleAndRoleIsNot(Role role, Role role2);
-
-  @Query("SELECT DISTINCT u FROM UserModel u " + "JOIN u.articles a " + "JOIN a.categories c "
-      + "WHERE c.id = :categoryId")
-  List<UserModel> findAuthorsByCategoryId(@Param("categoryId") Long categoryId);
+  @Query(value = "SELECT new com.github.airatgaliev.itblogback.repository.projections.UserSummary("
+      + "u.id, u.username, u.email, u.firstName, u.lastName, u.shortInfo, u.bio, u.avatarUrl, "
+      + "u.role, u.subscribersCount, u.subscriptionsCount) FROM UserModel u "
+      + "WHERE u.role IN :roles AND EXISTS (SELECT 1 FROM ArticleModel a JOIN a.categories c "
+      + "WHERE a.user = u AND c.id = :categoryId)",
+      countQuery = "SELECT COUNT(u) FROM UserModel u WHERE u.role IN :roles AND EXISTS ("
+          + "SELECT 1 FROM ArticleModel a JOIN a.categories c "
+          + "WHERE a.user = u AND c.id = :categoryId)")
+  Page<UserSummary> findSummariesByRoleInAndCategoryId(@Param("roles") Collection<Role> roles,
+      @Param("categoryId") Long categoryId, Pageable pageable);
 
   Optional<UserModel> findByUsername(String name);
 
+  @Query("SELECT new com.github.airatgaliev.itblogback.repository.projections.UserState("
+      + "u.enabled, u.tokenVersion) FROM UserModel u WHERE u.username = :username")
+  Optional<UserState> findStateByUsername(@Param("username") String username);
+
   Optional<UserModel> findByEmail(String username);
 
   Optional<UserModel> findByUsernameOrEmail(String username, String email);
@@ -31,4 +51,49 @@ public interface UserRepository extends JpaRepository<UserModel, Long> {
   boolean existsByUsername(String username);
 
   boolean existsByEmail(String email);
+
+  @Modifying
+  @Query(value = "UPDATE users SET password = :password WHERE username = :username",
+      nativeQuery = true)
+  void updatePassword(@Param("username") String username, @Param("password") String password);
+
+  @Modifying
+  @Query(value = "UPDATE users SET token_version = token_version + 1 WHERE id = :id",
+      nativeQuery = true)
+  void incrementTokenVersion(@Param("id") Long id);
+
+  @Query("SELECT u.tokenVersion FROM UserModel u WHERE u.id = :id")
+  int findTokenVersionById(@Param("id") Long id);
+
+  @Modifying
+  @Query(value = "UPDATE users SET subscribers_count = GREATEST(subscribers_count + :delta, 0) "
+      + "WHERE id = :id", nativeQuery = true)
+  void addSubscribersCount(@Param("id") Long id, @Param("delta") int delta);
+
+  @Modifying
+  @Query(value = "UPDATE users SET subscriptions_count = GREATEST(subscriptions_count + :delta, 0) "
+      + "WHERE id = :id", nativeQuery = true)
+  void addSubscriptionsCount(@Param("id") Long id, @Param("delta") int delta);
+
+  @Modifying
+  @Query(value = "UPDATE users SET subscribers_count = GREATEST(subscribers_count - 1, 0) "
+      + "WHERE id IN (SELECT s.user_id FROM subscriptions s WHERE s.subscriber_id = :id)",
+      nativeQuery = true)
+  void releaseSubscribedUsers(@Param("id") Long id);
+
+  @Modifying
+  @Query(value = "UPDATE users SET subscriptions_count = GREATEST(subscriptions_count - 1, 0) "
+      + "WHERE id IN (SELECT s.subscriber_id FROM subscriptions s WHERE s.user_id = :id)",
+      nativeQuery = true)
+  void releaseSubscribers(@Param("id") Long id);
+
+  @Modifying
+  @Query(value = "UPDATE users u SET subscribers_count = c.subscribers_count, "
+      + "subscriptions_count = c.subscriptions_count FROM (SELECT u2.id, "
+      + "(SELECT COUNT(*) FROM subscriptions s WHERE s.user_id = u2.id) AS subscribers_count, "
+      + "(SELECT COUNT(*) FROM subscriptions s WHERE s.subscriber_id = u2.id) "
+      + "AS subscriptions_count FROM users u2) c WHERE u.id = c.id "
+      + "AND (u.subscribers_count <> c.subscribers_count "
+      + "OR u.subscriptions_count <> c.subscriptions_count)", nativeQuery = true)
+  int recountSubscriptions();
 }
@@ -0,0 +1,8 @@
+package com.github.airatgaliev.itblogback.repository.projections;
+
+import com.github.airatgaliev.itblogback.model.Language;
+
+public record ArticleCategoryName(Long articleId, Long categoryId, Language language,
+                                  String name) {
+
+}
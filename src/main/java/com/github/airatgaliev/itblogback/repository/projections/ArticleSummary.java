@@ -0,0 +1,12 @@
+package com.github.airatgaliev.itblogback.repository.projections;
+
+import com.github.airatgaliev.itblogback.model.Language;
+import com.github.airatgaliev.itblogback.model.Status;
+import java.util.Date;
+
+public record ArticleSummary(Long id, Status status, Language language, Long originalArticleId,
+                             String title, String previewContent, String username,
+                             String authorAvatarUrl, long bookmarksCount, long viewsCount,
+                             Date createdAt, Date updatedAt) {
+
+}
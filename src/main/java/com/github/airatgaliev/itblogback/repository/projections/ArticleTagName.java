@@ -0,0 +1,5 @@
+package com.github.airatgaliev.itblogback.repository.projections;
+
+public record ArticleTagName(Long articleId, Long tagId, String name) {
+
+}
@@ -0,0 +1,7 @@
+package com.github.airatgaliev.itblogback.repository.projections;
+
+import java.util.Date;
+
+public record ArticleVersion(Long id, Date updatedAt) {
+
+}
@@ -0,0 +1,10 @@
+package com.github.airatgaliev.itblogback.repository.projections;
+
+public interface CategoryTopTag {
+
+  Long getCategoryId();
+
+  Long getTagId();
+
+  String getName();
+}
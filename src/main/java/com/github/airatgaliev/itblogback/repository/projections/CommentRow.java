@@ -0,0 +1,8 @@
+package com.github.airatgaliev.itblogback.repository.projections;
+
+import java.util.Date;
+
+public record CommentRow(Long id, Long parentCommentId, String content, String username,
+                         String avatarUrl, long repliesCount, Date createdAt) {
+
+}
@@ -0,0 +1,6 @@
+package com.github.airatgaliev.itblogback.repository.projections;
+
+public record SubscriptionUser(Long subscriptionId, String username, String firstName,
+                               String lastName, String avatarUrl, String shortInfo) {
+
+}
@@ -0,0 +1,8 @@
+package com.github.airatgaliev.itblogback.repository.projections;
+
+public interface UserCategory {
+
+  Long getUserId();
+
+  Long getCategoryId();
+}
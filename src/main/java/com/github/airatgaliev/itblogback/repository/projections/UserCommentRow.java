@@ -0,0 +1,8 @@
+package com.github.airatgaliev.itblogback.repository.projections;
+
+import java.util.Date;
+
+public record UserCommentRow(Long id, String content, Date createdAt, Long articleId,
+                             String articleTitle) {
+
+}
@@ -0,0 +1,9 @@
+package com.github.airatgaliev.itblogback.repository.projections;
+
+import com.github.airatgaliev.itblogback.model.Role;
+
+public record UserSummary(Long id, String username, String email, String firstName,
+                          String lastName, String shortInfo, String bio, String avatarUrl,
+                          Role role, long subscribersCount, long subscriptionsCount) {
+
+}
@@ -1,20 +1,40 @@
 package com.github.airatgaliev.itblogback.repository.specifications;
 
+import com.github.airatgaliev.itblogback.dto.ArticleFilter;
 import com.github.airatgaliev.itblogback.model.ArticleModel;
 import com.github.airatgaliev.itblogback.model.Status;
+import com.github.airatgaliev.itblogback.model.TagModel;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Subquery;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.domain.Specification;
 
 public class ArticleSpecifications {
 
+  public static Specification<ArticleModel> matching(ArticleFilter filter) {
+    return Specification.where(hasCategoryId(filter.getCategoryId()))
+        .and(hasTagIds(filter.getTagIds())).and(hasUsername(filter.getUsername()))
+        .and(hasSupportedLanguage(filter.getLanguages())).and(hasStatus(filter.getStatus()));
+  }
+
   public static Specification<ArticleModel> hasCategoryId(Long categoryId) {
     return (root, query, builder) -> categoryId != null ? builder.equal(
         root.join("categories").get("id"), categoryId) : null;
   }
 
-  public static Specification<ArticleModel> hasTagName(String tagName) {
-    return (root, query, builder) -> tagName != null ? builder.like(
-        builder.lower(root.join("tags").get("name")), "%" + tagName.toLowerCase() + "%") : null;
+  public static Specification<ArticleModel> hasTagIds(Collection<Long> tagIds) {
+    return (root, query, builder) -> {
+      if (tagIds == null) {
+        return null;
+      }
+      if (tagIds.isEmpty()) {
+        return builder.disjunction();
+      }
+      Subquery<Long> subquery = query.subquery(Long.class);
+      Join<ArticleModel, TagModel> tags = subquery.correlate(root).join("tags");
+      return builder.exists(subquery.select(tags.get("id")).where(tags.get("id").in(tagIds)));
+    };
   }
 
   public static Specification<ArticleModel> hasUsername(String username) {
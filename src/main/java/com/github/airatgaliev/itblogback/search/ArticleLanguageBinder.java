@@ -0,0 +1,63 @@
+package com.github.airatgaliev.itblogback.search;
+
+import com.github.airatgaliev.itblogback.config.SearchAnalysisConfigurer;
+import com.github.airatgaliev.itblogback.model.ArticleModel;
+import com.github.airatgaliev.itblogback.model.Language;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.search.engine.backend.document.DocumentElement;
+import org.hibernate.search.engine.backend.document.IndexFieldReference;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
+import org.hibernate.search.engine.backend.types.Highlightable;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.mapper.pojo.bridge.TypeBridge;
+import org.hibernate.search.mapper.pojo.bridge.binding.TypeBindingContext;
+import org.hibernate.search.mapper.pojo.bridge.mapping.programmatic.TypeBinder;
+import org.hibernate.search.mapper.pojo.bridge.runtime.TypeBridgeWriteContext;
+
+public class ArticleLanguageBinder implements TypeBinder {
+
+  public static final String TITLE = "title";
+  public static final String CONTENT = "content";
+
+  public static String field(String name, Language language) {
+    return name + "_" + language.getCode();
+  }
+
+  @Override
+  public void bind(TypeBindingContext context) {
+    context.dependencies().use("language").use("title").use("content");
+    IndexSchemaElement schema = context.indexSchemaElement();
+    Map<Language, IndexFieldReference<String>> titleFields = new EnumMap<>(Language.class);
+    Map<Language, IndexFieldReference<String>> contentFields = new EnumMap<>(Language.class);
+    for (Language language : Language.values()) {
+      titleFields.put(language, addTextField(schema, field(TITLE, language), language));
+      contentFields.put(language, addTextField(schema, field(CONTENT, language), language));
+    }
+    context.bridge(ArticleModel.class, new Bridge(titleFields, contentFields));
+  }
+
+  private IndexFieldReference<String> addTextField(IndexSchemaElement schema, String name,
+      Language language) {
+    return schema.field(name, f -> f.asString()
+            .analyzer(SearchAnalysisConfigurer.analyzerName(language))
+            .projectable(Projectable.YES).highlightable(List.of(Highlightable.UNIFIED)))
+        .toReference();
+  }
+
+  private record Bridge(Map<Language, IndexFieldReference<String>> titleFields,
+                        Map<Language, IndexFieldReference<String>> contentFields) implements
+      TypeBridge<ArticleModel> {
+
+    @Override
+    public void write(DocumentElement target, ArticleModel article,
+        TypeBridgeWriteContext context) {
+      Language language = article.getLanguage() != null ? article.getLanguage() : Language.EN;
+      target.addValue(titleFields.get(language), article.getTitle());
+      if (article.getContent() != null) {
+        target.addValue(contentFields.get(language), article.getContent());
+      }
+    }
+  }
+}
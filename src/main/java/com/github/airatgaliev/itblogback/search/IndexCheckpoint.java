@@ -0,0 +1,48 @@
+package com.github.airatgaliev.itblogback.search;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Properties;
+
+public record IndexCheckpoint(String mappingHash, Instant updatedAt, Long id) {
+
+  public static Optional<IndexCheckpoint> read(Path path) {
+    if (!Files.exists(path)) {
+      return Optional.empty();
+    }
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(path)) {
+      properties.load(reader);
+      return Optional.of(new IndexCheckpoint(properties.getProperty("mappingHash"),
+          Instant.parse(properties.getProperty("updatedAt")),
+          Long.valueOf(properties.getProperty("id"))));
+    } catch (IOException | RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+
+  public void write(Path path) {
+    Properties properties = new Properties();
+    properties.setProperty("mappingHash", mappingHash);
+    properties.setProperty("updatedAt", updatedAt.toString());
+    properties.setProperty("id", id.toString());
+    try {
+      Files.createDirectories(path.getParent());
+      Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temporary)) {
+        properties.store(writer, null);
+      }
+      Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
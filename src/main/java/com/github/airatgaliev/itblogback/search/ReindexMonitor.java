@@ -0,0 +1,79 @@
+package com.github.airatgaliev.itblogback.search;
+
+import com.github.airatgaliev.itblogback.dto.GetReindexProgress;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.search.mapper.pojo.massindexing.MassIndexingMonitor;
+
+@Slf4j
+public class ReindexMonitor implements MassIndexingMonitor {
+
+  public enum Mode {FULL, INCREMENTAL}
+
+  public enum State {RUNNING, COMPLETED, FAILED}
+
+  @Getter
+  private final Mode mode;
+  private final Instant startedAt = Instant.now();
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong entitiesLoaded = new AtomicLong();
+  private final AtomicLong documentsBuilt = new AtomicLong();
+  private final AtomicLong documentsAdded = new AtomicLong();
+  private volatile State state = State.RUNNING;
+  private volatile Instant finishedAt;
+  private volatile String error;
+
+  public ReindexMonitor(Mode mode) {
+    this.mode = mode;
+  }
+
+  @Override
+  public void documentsAdded(long increment) {
+    documentsAdded.addAndGet(increment);
+  }
+
+  @Override
+  public void documentsBuilt(long increment) {
+    documentsBuilt.addAndGet(increment);
+  }
+
+  @Override
+  public void entitiesLoaded(long increment) {
+    entitiesLoaded.addAndGet(increment);
+  }
+
+  @Override
+  public void addToTotalCount(long count) {
+    totalCount.addAndGet(count);
+  }
+
+  @Override
+  public void indexingCompleted() {
+    log.info("{} reindexing finished: {} of {} documents added", mode, documentsAdded.get(),
+        totalCount.get());
+  }
+
+  public boolean isRunning() {
+    return state == State.RUNNING;
+  }
+
+  public void completed() {
+    finishedAt = Instant.now();
+    state = State.COMPLETED;
+  }
+
+  public void failed(Throwable throwable) {
+    finishedAt = Instant.now();
+    error = throwable.getMessage();
+    state = State.FAILED;
+  }
+
+  public GetReindexProgress toProgress() {
+    return GetReindexProgress.builder().mode(mode.name()).state(state.name())
+        .totalCount(totalCount.get()).entitiesLoaded(entitiesLoaded.get())
+        .documentsBuilt(documentsBuilt.get()).documentsAdded(documentsAdded.get())
+        .startedAt(startedAt).finishedAt(finishedAt).error(error).build();
+  }
+}
@@ -3,16 +3,20 @@ package com.github.airatgaliev.itblogback.security;
 import static com.github.airatgaliev.itblogback.util.TokenUtils.extractToken;
 import static com.github.airatgaliev.itblogback.util.TokenUtils.invalidateToken;
 
+import com.github.airatgaliev.itblogback.repository.projections.UserState;
 import com.github.airatgaliev.itblogback.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -20,11 +24,23 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
   private final UserDetailsService userDetailsService;
+  private final UserStateCache userStateCache;
+  private final TokenCache tokenCache;
+  private final boolean stateless;
+
+  public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+      UserStateCache userStateCache, TokenCache tokenCache,
+      @Value("${spring.security.jwt.stateless}") boolean stateless) {
+    this.jwtService = jwtService;
+    this.userDetailsService = userDetailsService;
+    this.userStateCache = userStateCache;
+    this.tokenCache = tokenCache;
+    this.stateless = stateless;
+  }
 
   @Override
   protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -34,9 +50,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     try {
       if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-        String username = jwtService.extractUsername(token);
-        UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-        if (username != null && jwtService.isTokenValid(token, userDetails)) {
+        VerifiedToken verified = tokenCache.get(token, jwtService::verify);
+        UserDetails userDetails = stateless ? verifiedPrincipal(verified)
+            : this.userDetailsService.loadUserByUsername(verified.username());
+        if (userDetails != null && verified.username().equals(userDetails.getUsername())
+            && verified.expiresAt() > System.currentTimeMillis()) {
           UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
               userDetails, null, userDetails.getAuthorities());
           authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -49,4 +67,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     filterChain.doFilter(request, response);
   }
+
+  private UserDetails verifiedPrincipal(VerifiedToken verified) {
+    UserState state = userStateCache.get(verified.username()).orElse(null);
+    if (state == null || !state.enabled() || verified.role() == null
+        || state.tokenVersion() != verified.version()) {
+      return null;
+    }
+    return new User(verified.username(), "",
+        List.of(new SimpleGrantedAuthority(verified.role())));
+  }
 }
@@ -0,0 +1,173 @@
+package com.github.airatgaliev.itblogback.security;
+
+import com.github.airatgaliev.itblogback.exception.LoginRateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits sign-in attempts per client address and per account with a GCRA token bucket each.
+ *
+ * <p>Buckets live in a bounded number of shards. When a shard is full, a new key evicts an idle
+ * bucket from a small sample, and if none is idle the attempt is let through unlimited for that
+ * key. Failing open is deliberate: a shared fallback bucket let anyone flooding the limiter with
+ * fresh keys block sign-in for every user. An attacker who fills the account shards still goes
+ * through the per-address limit, and each attempt still has to pass the bounded password hashing
+ * pool. Rejections and fail-open admissions are exported as
+ * {@code security.login.rate-limit.rejections} and {@code security.login.rate-limit.overflows}.
+ */
+@Component
+public class LoginRateLimiter {
+
+  private final Limiter byIp;
+  private final Limiter byAccount;
+
+  @Autowired
+  public LoginRateLimiter(MeterRegistry meterRegistry,
+      @Value("${spring.security.login-rate-limit.shards}") int shards,
+      @Value("${spring.security.login-rate-limit.max-entries}") int maxEntries,
+      @Value("${spring.security.login-rate-limit.ip.capacity}") int ipCapacity,
+      @Value("${spring.security.login-rate-limit.ip.refill-period}") Duration ipRefillPeriod,
+      @Value("${spring.security.login-rate-limit.account.capacity}") int accountCapacity,
+      @Value("${spring.security.login-rate-limit.account.refill-period}")
+      Duration accountRefillPeriod) {
+    this(meterRegistry, shards, maxEntries, ipCapacity, ipRefillPeriod, accountCapacity,
+        accountRefillPeriod, System::nanoTime);
+  }
+
+  LoginRateLimiter(MeterRegistry meterRegistry, int shards, int maxEntries, int ipCapacity,
+      Duration ipRefillPeriod, int accountCapacity, Duration accountRefillPeriod,
+      LongSupplier nanoTime) {
+    this.byIp = new Limiter(meterRegistry, "ip", shards, maxEntries, ipCapacity, ipRefillPeriod,
+        nanoTime);
+    this.byAccount = new Limiter(meterRegistry, "account", shards, maxEntries, accountCapacity,
+        accountRefillPeriod, nanoTime);
+  }
+
+  public void acquire(String ip, String usernameOrEmail) {
+    if (!byIp.tryAcquire(ip)
+        || !byAccount.tryAcquire(usernameOrEmail.trim().toLowerCase(Locale.ROOT))) {
+      throw new LoginRateLimitExceededException(
+          "Too many sign-in attempts, please try again later");
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${spring.security.login-rate-limit.eviction-interval}")
+  public void evictIdle() {
+    byIp.evictIdle();
+    byAccount.evictIdle();
+  }
+
+  private static final class Limiter {
+
+    private static final int EVICTION_SAMPLE = 16;
+
+    private final ConcurrentHashMap<String, AtomicLong>[] shards;
+    private final int maxEntriesPerShard;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Counter rejections;
+    private final Counter overflows;
+    private final LongSupplier nanoTime;
+
+    @SuppressWarnings("unchecked")
+    private Limiter(MeterRegistry meterRegistry, String key, int shards, int maxEntries,
+        int capacity, Duration refillPeriod, LongSupplier nanoTime) {
+      int shardCount = Math.max(1, Integer.highestOneBit(shards));
+      this.nanoTime = nanoTime;
+      this.shards = new ConcurrentHashMap[shardCount];
+      for (int i = 0; i < shardCount; i++) {
+        this.shards[i] = new ConcurrentHashMap<>();
+      }
+      this.maxEntriesPerShard = Math.max(1, maxEntries / shardCount);
+      this.intervalNanos = refillPeriod.toNanos() / capacity;
+      this.burstNanos = intervalNanos * capacity;
+      this.rejections = Counter.builder("security.login.rate-limit.rejections").tag("key", key)
+          .register(meterRegistry);
+      this.overflows = Counter.builder("security.login.rate-limit.overflows").tag("key", key)
+          .register(meterRegistry);
+      Gauge.builder("security.login.rate-limit.buckets", this, Limiter::size).tag("key", key)
+          .register(meterRegistry);
+    }
+
+    private boolean tryAcquire(String key) {
+      ConcurrentHashMap<String, AtomicLong> shard = shards[shardIndex(key)];
+      long now = nanoTime.getAsLong();
+      while (true) {
+        AtomicLong bucket = shard.get(key);
+        if (bucket == null) {
+          if (shard.size() >= maxEntriesPerShard && !evictOneIdle(shard, now)) {
+            overflows.increment();
+            return true;
+          }
+          bucket = shard.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        if (!consume(bucket, now)) {
+          rejections.increment();
+          return false;
+        }
+        if (shard.get(key) == bucket) {
+          return true;
+        }
+      }
+    }
+
+    private boolean consume(AtomicLong bucket, long now) {
+      while (true) {
+        long theoreticalArrival = bucket.get();
+        long next = Math.max(theoreticalArrival, now) + intervalNanos;
+        if (next - now > burstNanos) {
+          return false;
+        }
+        if (bucket.compareAndSet(theoreticalArrival, next)) {
+          return true;
+        }
+      }
+    }
+
+    private void evictIdle() {
+      long now = nanoTime.getAsLong();
+      for (ConcurrentHashMap<String, AtomicLong> shard : shards) {
+        shard.keySet().forEach(key -> removeIfIdle(shard, key, now));
+      }
+    }
+
+    private boolean evictOneIdle(ConcurrentHashMap<String, AtomicLong> shard, long now) {
+      int sampled = 0;
+      for (String key : shard.keySet()) {
+        if (removeIfIdle(shard, key, now)) {
+          return true;
+        }
+        if (++sampled == EVICTION_SAMPLE) {
+          return false;
+        }
+      }
+      return false;
+    }
+
+    private boolean removeIfIdle(ConcurrentHashMap<String, AtomicLong> shard, String key,
+        long now) {
+      return shard.computeIfPresent(key, (k, bucket) -> bucket.get() - now <= 0 ? null : bucket)
+          == null;
+    }
+
+    private int shardIndex(String key) {
+      int hash = key.hashCode();
+      return (hash ^ (hash >>> 16)) & (shards.length - 1);
+    }
+
+    private double size() {
+      return Arrays.stream(shards).mapToInt(ConcurrentHashMap::size).sum();
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.github.airatgaliev.itblogback.security;
+
+import com.github.airatgaliev.itblogback.event.UserCredentialsChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class TokenCache {
+
+  private final Map<String, VerifiedToken> entries;
+  private final Map<String, Set<String>> digestsByUser = new HashMap<>();
+  private final Counter hits;
+  private final Counter misses;
+  private long generation;
+
+  public TokenCache(MeterRegistry meterRegistry,
+      @Value("${spring.security.jwt.token-cache.max-entries}") int maxEntries) {
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+        boolean evict = size() > maxEntries;
+        if (evict) {
+          forgetDigest(eldest.getValue().username(), eldest.getKey());
+        }
+        return evict;
+      }
+    };
+    this.hits = requests(meterRegistry, "hit");
+    this.misses = requests(meterRegistry, "miss");
+    meterRegistry.gauge("security.token.cache.size", this, TokenCache::size);
+  }
+
+  public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+    String digest = digest(token);
+    long now = System.currentTimeMillis();
+    long generationBeforeVerify;
+    synchronized (entries) {
+      VerifiedToken cached = entries.get(digest);
+      if (cached != null) {
+        if (cached.expiresAt() > now) {
+          hits.increment();
+          return cached;
+        }
+        remove(digest);
+      }
+      generationBeforeVerify = generation;
+    }
+    misses.increment();
+    VerifiedToken verified = verifier.apply(token);
+    if (verified.expiresAt() > now) {
+      synchronized (entries) {
+        if (generation == generationBeforeVerify) {
+          entries.put(digest, verified);
+          digestsByUser.computeIfAbsent(verified.username(), username -> new HashSet<>())
+              .add(digest);
+        }
+      }
+    }
+    return verified;
+  }
+
+  public void evict(String token) {
+    synchronized (entries) {
+      generation++;
+      remove(digest(token));
+    }
+  }
+
+  public void evictUser(String username) {
+    synchronized (entries) {
+      generation++;
+      Set<String> digests = digestsByUser.remove(username);
+      if (digests != null) {
+        digests.forEach(entries::remove);
+      }
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserCredentialsChanged(UserCredentialsChangedEvent event) {
+    evictUser(event.username());
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private void remove(String digest) {
+    VerifiedToken removed = entries.remove(digest);
+    if (removed != null) {
+      forgetDigest(removed.username(), digest);
+    }
+  }
+
+  private void forgetDigest(String username, String digest) {
+    Set<String> digests = digestsByUser.get(username);
+    if (digests != null && digests.remove(digest) && digests.isEmpty()) {
+      digestsByUser.remove(username);
+    }
+  }
+
+  private static String digest(String token) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+          .digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Counter requests(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("security.token.cache.requests").tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,23 @@
+package com.github.airatgaliev.itblogback.security;
+
+import com.github.airatgaliev.itblogback.exception.PasswordHashingBusyException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public class UpgradeTolerantAuthenticationProvider extends DaoAuthenticationProvider {
+
+  @Override
+  protected Authentication createSuccessAuthentication(Object principal,
+      Authentication authentication, UserDetails user) {
+    try {
+      return super.createSuccessAuthentication(principal, authentication, user);
+    } catch (PasswordHashingBusyException e) {
+      UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken
+          .authenticated(principal, authentication.getCredentials(), user.getAuthorities());
+      result.setDetails(authentication.getDetails());
+      return result;
+    }
+  }
+}
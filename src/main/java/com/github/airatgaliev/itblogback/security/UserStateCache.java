@@ -0,0 +1,63 @@
+package com.github.airatgaliev.itblogback.security;
+
+import com.github.airatgaliev.itblogback.event.UserCredentialsChangedEvent;
+import com.github.airatgaliev.itblogback.repository.UserRepository;
+import com.github.airatgaliev.itblogback.repository.projections.UserState;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class UserStateCache {
+
+  private final UserRepository userRepository;
+  private final long ttlMillis;
+  private final Map<String, Entry> entries;
+
+  public UserStateCache(UserRepository userRepository,
+      @Value("${spring.security.jwt.user-state.max-entries}") int maxEntries,
+      @Value("${spring.security.jwt.user-state.ttl}") Duration ttl) {
+    this.userRepository = userRepository;
+    this.ttlMillis = ttl.toMillis();
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  private record Entry(UserState state, long expiresAt) {
+
+  }
+
+  public Optional<UserState> get(String username) {
+    long now = System.currentTimeMillis();
+    synchronized (entries) {
+      Entry entry = entries.get(username);
+      if (entry != null && entry.expiresAt() > now) {
+        return Optional.ofNullable(entry.state());
+      }
+    }
+    UserState state = userRepository.findStateByUsername(username).orElse(null);
+    synchronized (entries) {
+      entries.put(username, new Entry(state, now + ttlMillis));
+    }
+    return Optional.ofNullable(state);
+  }
+
+  public void evict(String username) {
+    synchronized (entries) {
+      entries.remove(username);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserCredentialsChanged(UserCredentialsChangedEvent event) {
+    evict(event.username());
+  }
+}
@@ -0,0 +1,5 @@
+package com.github.airatgaliev.itblogback.security;
+
+public record VerifiedToken(String username, String role, int version, long expiresAt) {
+
+}
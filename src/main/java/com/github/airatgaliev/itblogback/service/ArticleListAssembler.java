@@ -0,0 +1,115 @@
+package com.github.airatgaliev.itblogback.service;
+
+import com.github.airatgaliev.itblogback.dto.GetArticle;
+import com.github.airatgaliev.itblogback.dto.GetCategory;
+import com.github.airatgaliev.itblogback.dto.GetTag;
+import com.github.airatgaliev.itblogback.interceptor.localization.LocalizationContext;
+import com.github.airatgaliev.itblogback.model.Language;
+import com.github.airatgaliev.itblogback.repository.ArticleRepository;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleCategoryName;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleSummary;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleTagName;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleTitle;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ArticleListAssembler {
+
+  private final ArticleRepository articleRepository;
+  private final LocalizationContext localizationContext;
+
+  public Page<GetArticle> assemble(Page<ArticleSummary> articles) {
+    return new PageImpl<>(assembleSummaries(articles.getContent()), articles.getPageable(),
+        articles.getTotalElements());
+  }
+
+  public List<GetArticle> assemble(List<Long> articleIds) {
+    if (articleIds.isEmpty()) {
+      return List.of();
+    }
+    Map<Long, ArticleSummary> articles = articleRepository.findSummariesByIdIn(articleIds)
+        .stream().collect(Collectors.toMap(ArticleSummary::id, Function.identity()));
+    return assembleSummaries(
+        articleIds.stream().map(articles::get).filter(Objects::nonNull).toList());
+  }
+
+  public List<GetArticle> assembleSummaries(List<ArticleSummary> articles) {
+    if (articles.isEmpty()) {
+      return List.of();
+    }
+    List<Long> articleIds = articles.stream().map(ArticleSummary::id).toList();
+    Map<Long, List<GetCategory>> categories = findCategories(articleIds);
+    Map<Long, List<GetTag>> tags = articleRepository.findTagNamesByArticleIdIn(articleIds)
+        .stream().collect(Collectors.groupingBy(ArticleTagName::articleId,
+            Collectors.mapping(tag -> GetTag.builder().id(tag.tagId()).name(tag.name()).build(),
+                Collectors.toList())));
+    Map<Long, String> originalTitles = findOriginalTitles(articles);
+    return articles.stream().map(
+        article -> convertArticleSummaryToDTO(article, categories, tags, originalTitles)).toList();
+  }
+
+  private Map<Long, List<GetCategory>> findCategories(List<Long> articleIds) {
+    Map<Long, Map<Long, Map<Language, String>>> namesByArticle = new LinkedHashMap<>();
+    for (ArticleCategoryName row : articleRepository.findCategoryNamesByArticleIdIn(articleIds)) {
+      Map<Language, String> names = namesByArticle
+          .computeIfAbsent(row.articleId(), id -> new LinkedHashMap<>())
+          .computeIfAbsent(row.categoryId(), id -> new EnumMap<>(Language.class));
+      if (row.language() != null) {
+        names.put(row.language(), row.name());
+      }
+    }
+    Language interfaceLanguage = Language.valueOf(localizationContext.getLocale().toUpperCase());
+    Map<Long, List<GetCategory>> categories = new LinkedHashMap<>();
+    namesByArticle.forEach((articleId, categoryNames) -> categories.put(articleId,
+        categoryNames.entrySet().stream().map(category -> GetCategory.builder()
+            .id(category.getKey()).name(category.getValue()
+                .getOrDefault(interfaceLanguage, category.getValue().get(Language.EN))).build())
+            .toList()));
+    return categories;
+  }
+
+  private Map<Long, String> findOriginalTitles(Iterable<ArticleSummary> articles) {
+    Set<Long> originalArticleIds = new HashSet<>();
+    articles.forEach(article -> {
+      if (article.originalArticleId() != null) {
+        originalArticleIds.add(article.originalArticleId());
+      }
+    });
+    if (originalArticleIds.isEmpty()) {
+      return Map.of();
+    }
+    return articleRepository.findTitlesByIdIn(originalArticleIds).stream()
+        .collect(Collectors.toMap(ArticleTitle::id, ArticleTitle::title));
+  }
+
+  private GetArticle convertArticleSummaryToDTO(ArticleSummary article,
+      Map<Long, List<GetCategory>> categories, Map<Long, List<GetTag>> tags,
+      Map<Long, String> originalTitles) {
+    Long originalArticleId = article.originalArticleId();
+    GetArticle originalArticle =
+        originalArticleId != null && originalTitles.containsKey(originalArticleId)
+            ? GetArticle.builder().id(originalArticleId).title(originalTitles.get(originalArticleId))
+            .build() : null;
+    return GetArticle.builder().id(article.id()).status(article.status())
+        .language(article.language()).originalArticle(originalArticle).title(article.title())
+        .previewContent(article.previewContent()).username(article.username())
+        .authorAvatarUrl(article.authorAvatarUrl())
+        .categories(categories.getOrDefault(article.id(), List.of()))
+        .tags(tags.getOrDefault(article.id(), List.of()))
+        .bookmarksCount((int) article.bookmarksCount()).viewsCount(article.viewsCount())
+        .createdAt(article.createdAt()).updatedAt(article.updatedAt()).build();
+  }
+}
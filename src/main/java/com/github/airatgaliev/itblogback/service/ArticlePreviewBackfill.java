@@ -0,0 +1,53 @@
+package com.github.airatgaliev.itblogback.service;
+
+import static com.github.airatgaliev.itblogback.util.ContentUtil.createHtmlPreview;
+
+import com.github.airatgaliev.itblogback.repository.ArticleRepository;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleContent;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticlePreviewBackfill {
+
+  private final ArticleRepository articleRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${article.preview.max-length}")
+  private int previewMaxLength;
+  @Value("${article.preview.backfill.batch-size}")
+  private int batchSize;
+
+  @Async
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    long lastId = 0L;
+    int filled = 0;
+    List<ArticleContent> batch;
+    do {
+      batch = articleRepository.findContentsWithoutPreview(lastId, PageRequest.of(0, batchSize));
+      if (batch.isEmpty()) {
+        break;
+      }
+      List<ArticleContent> articles = batch;
+      transactionTemplate.executeWithoutResult(status -> articles.forEach(
+          article -> articleRepository.updateGeneratedPreview(article.id(),
+              createHtmlPreview(article.content(), previewMaxLength))));
+      lastId = batch.getLast().id();
+      filled += batch.size();
+    } while (batch.size() == batchSize);
+    if (filled > 0) {
+      log.info("Generated previews for {} articles.", filled);
+    }
+  }
+}
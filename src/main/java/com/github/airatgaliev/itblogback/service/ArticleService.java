@@ -2,12 +2,18 @@ package com.github.airatgaliev.itblogback.service;
 
 import static com.github.airatgaliev.itblogback.util.ContentUtil.createHtmlPreview;
 
+import com.github.airatgaliev.itblogback.cache.ArticleCache;
+import com.github.airatgaliev.itblogback.dto.ArticleFilter;
+import com.github.airatgaliev.itblogback.dto.ArticleSearchHit;
 import com.github.airatgaliev.itblogback.dto.CreateDraftArticle;
+import com.github.airatgaliev.itblogback.dto.CursorPage;
 import com.github.airatgaliev.itblogback.dto.GetArticle;
 import com.github.airatgaliev.itblogback.dto.GetCategory;
 import com.github.airatgaliev.itblogback.dto.GetTag;
 import com.github.airatgaliev.itblogback.dto.UpdateArticle;
 import com.github.airatgaliev.itblogback.dto.UpdateDraftArticle;
+import com.github.airatgaliev.itblogback.event.ArticleChangedEvent;
+import com.github.airatgaliev.itblogback.event.ArticlePublishedEvent;
 import com.github.airatgaliev.itblogback.exception.ArticleNotFoundException;
 import com.github.airatgaliev.itblogback.exception.BookmarkAlreadyExistsException;
 import com.github.airatgaliev.itblogback.interceptor.localization.LocalizationContext;
@@ -24,6 +30,11 @@ import com.github.airatgaliev.itblogback.repository.BookmarkRepository;
 import com.github.airatgaliev.itblogback.repository.CategoryRepository;
 import com.github.airatgaliev.itblogback.repository.TagRepository;
 import com.github.airatgaliev.itblogback.repository.UserRepository;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleSummary;
+import com.github.airatgaliev.itblogback.repository.specifications.ArticleSpecifications;
+import com.github.airatgaliev.itblogback.search.ArticleLanguageBinder;
+import com.github.airatgaliev.itblogback.service.CategoryTagStatsService.ArticleTaxonomy;
+import com.github.airatgaliev.itblogback.util.KeysetCursor;
 import jakarta.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.Date;
@@ -31,22 +42,36 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.search.engine.search.highlighter.dsl.HighlighterEncoder;
+import org.hibernate.search.engine.search.predicate.dsl.MatchPredicateOptionsStep;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+import org.hibernate.search.engine.search.predicate.dsl.SimpleBooleanPredicateClausesCollector;
+import org.hibernate.search.engine.search.predicate.dsl.SimpleBooleanPredicateClausesStep;
+import org.hibernate.search.engine.search.projection.SearchProjection;
+import org.hibernate.search.engine.search.projection.dsl.SearchProjectionFactory;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.engine.search.sort.dsl.SearchSortFactory;
+import org.hibernate.search.engine.search.sort.dsl.SortFinalStep;
+import org.hibernate.search.engine.search.sort.dsl.SortOrder;
 import org.hibernate.search.mapper.orm.Search;
-import org.hibernate.search.mapper.orm.session.SearchSession;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.event.ContextRefreshedEvent;
-import org.springframework.context.event.EventListener;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
 @Slf4j
 @Service
@@ -60,56 +85,176 @@ public class ArticleService {
   private final TagRepository tagRepository;
   private final BookmarkRepository bookmarkRepository;
   private final LocalizationContext localizationContext;
+  private final ArticleListAssembler articleListAssembler;
+  private final TagService tagService;
+  private final CategoryTagStatsService categoryTagStatsService;
+  private final ArticleCache articleCache;
+  private final ArticleViewCounter articleViewCounter;
+  private final TrendingService trendingService;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
 
-  @Value("${search.results.limit}")
-  private int searchResultsLimit;
-  @Value("${search.massindexer.threads}")
-  private int searchMassIndexerThreads;
+  @Value("${search.highlight.fragment-size}")
+  private int searchHighlightFragmentSize;
+  @Value("${search.highlight.fragments}")
+  private int searchHighlightFragments;
+  @Value("${article.preview.max-length}")
+  private int previewMaxLength;
+  @Value("${article.max-page-size}")
+  private int maxPageSize;
 
   @Transactional
-  public Page<GetArticle> getArticles(Specification<ArticleModel> spec, Pageable pageable) {
-    return getArticles(pageable, spec);
+  public Page<GetArticle> getArticles(ArticleFilter filter, Pageable pageable) {
+    return getArticles(pageable, ArticleSpecifications.matching(resolveTags(filter)));
   }
 
-  @EventListener(ContextRefreshedEvent.class)
   @Transactional
-  public void onApplicationEvent(ContextRefreshedEvent event) {
-    initializeSearchIndexing();
+  public CursorPage<GetArticle> getArticlesByCursor(ArticleFilter filter, String cursor,
+      int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Size must be at least 1");
+    }
+    int limit = Math.min(size, maxPageSize);
+    List<ArticleSummary> summaries = articleRepository.findSummariesAfter(
+        ArticleSpecifications.matching(resolveTags(filter)), KeysetCursor.decode(cursor),
+        limit + 1);
+    String nextCursor = null;
+    if (summaries.size() > limit) {
+      summaries = summaries.subList(0, limit);
+      ArticleSummary last = summaries.getLast();
+      nextCursor = new KeysetCursor(last.createdAt().toInstant(), last.id()).encode();
+    }
+    return CursorPage.<GetArticle>builder()
+        .content(articleListAssembler.assembleSummaries(summaries)).nextCursor(nextCursor)
+        .size(limit).build();
   }
 
   @Transactional
-  public void initializeSearchIndexing() {
-    SearchSession searchSession = Search.session(entityManager);
-    searchSession.massIndexer(ArticleModel.class).threadsToLoadObjects(searchMassIndexerThreads)
-        .start().thenRun(() -> log.info("Indexing completed successfully.")).exceptionally(e -> {
-          log.error("Error occurred during indexing.", e);
-          return null;
-        });
+  public Page<GetArticle> searchAndFilterArticles(String content, ArticleFilter filter,
+      boolean fuzzy, Pageable pageable) {
+    ArticleFilter resolvedFilter = resolveTags(filter);
+    SearchResult<Long> result = fetchWithFuzzyFallback(fuzzy,
+        fuzzyMatch -> Search.session(entityManager).search(ArticleModel.class)
+            .select(f -> f.id(Long.class))
+            .where((f, root) -> addSearchClauses(f, root, content, resolvedFilter, fuzzyMatch))
+            .sort(f -> searchSort(f, pageable.getSort()))
+            .fetch((int) pageable.getOffset(), pageable.getPageSize()));
+    return new PageImpl<>(articleListAssembler.assemble(result.hits()), pageable,
+        result.total().hitCount());
   }
 
   @Transactional
-  public Page<GetArticle> searchAndFilterArticles(String content, Specification<ArticleModel> spec,
-      Pageable pageable) {
-    List<Long> articleIds = searchArticleIdsByContent(content);
-    Specification<ArticleModel> combinedSpec = spec.and(
-        (root, query, builder) -> root.get("id").in(articleIds));
-    return getArticles(pageable, combinedSpec);
+  public Page<ArticleSearchHit> searchArticles(String content, ArticleFilter filter,
+      boolean fuzzy, Pageable pageable) {
+    ArticleFilter resolvedFilter = resolveTags(filter);
+    SearchResult<ArticleSearchHit> result = fetchWithFuzzyFallback(fuzzy,
+        fuzzyMatch -> Search.session(entityManager).search(ArticleModel.class)
+            .select(f -> f.composite().from(searchHitProjections(f)).asList(this::toSearchHit))
+            .where((f, root) -> addSearchClauses(f, root, content, resolvedFilter, fuzzyMatch))
+            .highlighter(f -> f.unified().encoder(HighlighterEncoder.HTML)
+                .tag("<mark>", "</mark>").fragmentSize(searchHighlightFragmentSize)
+                .numberOfFragments(searchHighlightFragments))
+            .highlighter(ArticleLanguageBinder.TITLE,
+                f -> f.unified().numberOfFragments(1).noMatchSize(0))
+            .sort(f -> f.score().then().field("createdAt").desc().then().field("id").desc())
+            .fetch((int) pageable.getOffset(), pageable.getPageSize()));
+    return new PageImpl<>(result.hits(), pageable, result.total().hitCount());
+  }
+
+  private <H> SearchResult<H> fetchWithFuzzyFallback(boolean fuzzy,
+      Function<Boolean, SearchResult<H>> search) {
+    SearchResult<H> result = search.apply(false);
+    if (fuzzy && result.total().hitCount() == 0) {
+      return search.apply(true);
+    }
+    return result;
+  }
+
+  private SearchProjection<?>[] searchHitProjections(SearchProjectionFactory<?, ?> f) {
+    List<SearchProjection<?>> projections = new ArrayList<>(
+        List.of(f.id(Long.class).toProjection(), f.field("language", Language.class).toProjection(),
+            f.field("user.username", String.class).toProjection(), f.score().toProjection(),
+            f.field("createdAt", Date.class).toProjection()));
+    for (Language language : Language.values()) {
+      String titleField = ArticleLanguageBinder.field(ArticleLanguageBinder.TITLE, language);
+      projections.add(f.field(titleField, String.class).toProjection());
+      projections.add(
+          f.highlight(titleField).highlighter(ArticleLanguageBinder.TITLE).toProjection());
+      projections.add(f.highlight(
+          ArticleLanguageBinder.field(ArticleLanguageBinder.CONTENT, language)).toProjection());
+    }
+    return projections.toArray(SearchProjection[]::new);
+  }
+
+  @SuppressWarnings("unchecked")
+  private ArticleSearchHit toSearchHit(List<?> values) {
+    Language language = values.get(1) != null ? (Language) values.get(1) : Language.EN;
+    int offset = 5 + language.ordinal() * 3;
+    return ArticleSearchHit.builder().id((Long) values.get(0)).language((Language) values.get(1))
+        .username((String) values.get(2)).score((Float) values.get(3))
+        .createdAt((Date) values.get(4)).title((String) values.get(offset))
+        .titleHighlights((List<String>) values.get(offset + 1))
+        .contentHighlights((List<String>) values.get(offset + 2)).build();
+  }
+
+  private void addSearchClauses(SearchPredicateFactory f,
+      SimpleBooleanPredicateClausesCollector<?> root, String content, ArticleFilter filter,
+      boolean fuzzy) {
+    List<Language> languages = filter.getLanguages() != null ? filter.getLanguages().stream()
+        .map(Language::valueOf).toList() : List.of(Language.values());
+    if (languages.isEmpty()) {
+      root.add(f.matchNone());
+      return;
+    }
+    SimpleBooleanPredicateClausesStep<?> textMatch = f.or();
+    for (Language language : languages) {
+      MatchPredicateOptionsStep<?> match = f.match()
+          .fields(ArticleLanguageBinder.field(ArticleLanguageBinder.TITLE, language),
+              ArticleLanguageBinder.field(ArticleLanguageBinder.CONTENT, language))
+          .matching(content);
+      textMatch.add(fuzzy ? match.fuzzy(1) : match);
+    }
+    root.add(textMatch);
+    if (filter.getLanguages() != null) {
+      root.add(f.terms().field("language").matchingAny(languages));
+    }
+    if (filter.getStatus() != null) {
+      root.add(f.match().field("status").matching(filter.getStatus()));
+    }
+    if (filter.getCategoryId() != null) {
+      root.add(f.match().field("categories.id").matching(filter.getCategoryId()));
+    }
+    if (filter.getTagIds() != null) {
+      root.add(filter.getTagIds().isEmpty() ? f.matchNone()
+          : f.terms().field("tags.id").matchingAny(filter.getTagIds()));
+    }
+    if (StringUtils.hasText(filter.getUsername())) {
+      root.add(f.match().field("user.username").matching(filter.getUsername()));
+    }
+  }
+
+  private ArticleFilter resolveTags(ArticleFilter filter) {
+    if (StringUtils.hasText(filter.getTag()) && filter.getTagIds() == null) {
+      return filter.toBuilder()
+          .tagIds(tagService.findTagIds(filter.getTag().strip(), filter.isTagPrefix())).build();
+    }
+    return filter;
+  }
+
+  private SortFinalStep searchSort(SearchSortFactory f, Sort sort) {
+    Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.by("relevance"));
+    SortOrder direction = order.isAscending() ? SortOrder.ASC : SortOrder.DESC;
+    return switch (order.getProperty()) {
+      case "relevance" -> f.score().then().field("createdAt").desc().then().field("id").desc();
+      case "createdAt" -> f.field("createdAt").order(direction).then().field("id").order(direction);
+      default -> throw new IllegalArgumentException(
+          "Unsupported sort for content search: " + order.getProperty());
+    };
   }
 
   private Page<GetArticle> getArticles(Pageable pageable,
       Specification<ArticleModel> combinedSpec) {
-    return articleRepository.findAll(combinedSpec, pageable)
-        .map(this::convertArticleModelToDTO)
-        .map(article -> {
-          if (article.getPreviewContent().isEmpty()) {
-            String previewContent = createHtmlPreview(article.getContent(), 1100);
-            article.setPreviewContent(previewContent);
-          } else {
-            article.setPreviewContent(article.getPreviewContent());
-          }
-          article.setContent(null);
-          return article;
-        });
+    return articleListAssembler.assemble(articleRepository.findSummaries(combinedSpec, pageable));
   }
 
   @Transactional
@@ -120,16 +265,28 @@ public class ArticleService {
         .map(this::convertArticleModelToDTO).toList();
   }
 
-  private List<Long> searchArticleIdsByContent(String content) {
-    SearchSession searchSession = Search.session(entityManager);
-    return searchSession.search(ArticleModel.class)
-        .where(f -> f.match().fields("content", "title").matching(content).fuzzy(1))
-        .fetchHits(searchResultsLimit).stream().map(ArticleModel::getId).toList();
+  public Optional<GetArticle> getArticleById(Long id) {
+    Language interfaceLanguage = Language.valueOf(localizationContext.getLocale().toUpperCase());
+    Optional<GetArticle> article = articleCache.get(id, interfaceLanguage,
+            () -> transactionTemplate.execute(status -> articleRepository.findById(id)
+                .map(this::convertArticleModelToDTO).map(this::withoutCounters)))
+        .flatMap(cached -> articleRepository.findCountersById(id).map(counters -> {
+          cached.setViewsCount(counters.viewsCount() + articleViewCounter.pendingViews(id));
+          cached.setBookmarksCount((int) counters.bookmarksCount());
+          return cached;
+        }));
+    article.filter(a -> a.getStatus() == Status.PUBLISHED)
+        .ifPresent(a -> {
+          articleViewCounter.recordView(id);
+          trendingService.recordView(id);
+        });
+    return article;
   }
 
-  @Transactional
-  public Optional<GetArticle> getArticleById(Long id) {
-    return articleRepository.findById(id).map(this::convertArticleModelToDTO);
+  private GetArticle withoutCounters(GetArticle article) {
+    article.setViewsCount(null);
+    article.setBookmarksCount(null);
+    return article;
   }
 
   @Transactional
@@ -143,6 +300,7 @@ public class ArticleService {
     }
     articleModel.setStatus(Status.DRAFT);
     ArticleModel savedArticle = articleRepository.save(articleModel);
+    eventPublisher.publishEvent(new ArticleChangedEvent(id));
     return convertArticleModelToDTO(savedArticle);
   }
 
@@ -151,7 +309,8 @@ public class ArticleService {
     UserModel userModel = userRepository.findByUsername(userDetails.getUsername()).orElseThrow(
         () -> new UsernameNotFoundException("User not found " + userDetails.getUsername()));
     ArticleModel articleModel = ArticleModel.builder().user(userModel)
-        .title(draftArticle.getTitle()).content(draftArticle.getContent()).build();
+        .title(draftArticle.getTitle()).build();
+    updateContent(articleModel, null, draftArticle.getContent());
     ArticleModel savedArticle = articleRepository.save(articleModel);
     return convertArticleModelToDTO(savedArticle);
   }
@@ -166,6 +325,7 @@ public class ArticleService {
     if (!userModel.getId().equals(articleModel.getUser().getId())) {
       throw new AccessDeniedException("You are not allowed to edit this article");
     }
+    ArticleTaxonomy taxonomyBefore = ArticleTaxonomy.of(articleModel);
     articleModel.setStatus(Status.DRAFT);
     Language language = draftArticle.getLanguage();
     if (language != null) {
@@ -180,12 +340,7 @@ public class ArticleService {
     if (draftArticle.getTitle() != null) {
       articleModel.setTitle(draftArticle.getTitle());
     }
-    if (draftArticle.getPreviewContent() != null) {
-      articleModel.setPreviewContent(draftArticle.getPreviewContent());
-    }
-    if (draftArticle.getContent() != null) {
-      articleModel.setContent(draftArticle.getContent());
-    }
+    updateContent(articleModel, draftArticle.getPreviewContent(), draftArticle.getContent());
     List<Long> categoryIds = draftArticle.getCategoryIds();
     if (categoryIds != null && !categoryIds.isEmpty()) {
       List<CategoryModel> categories = new ArrayList<>(
@@ -210,6 +365,8 @@ public class ArticleService {
       articleModel.setTags(tagModels);
     }
     articleRepository.save(articleModel);
+    categoryTagStatsService.articleChanged(taxonomyBefore, ArticleTaxonomy.of(articleModel));
+    eventPublisher.publishEvent(new ArticleChangedEvent(id));
   }
 
   @Transactional
@@ -229,8 +386,14 @@ public class ArticleService {
         .equals(articleModel.getUser().getId())) {
       throw new AccessDeniedException("Only the author can publish their hidden article");
     }
+    updateContent(articleModel, null, null);
     articleModel.setStatus(Status.PUBLISHED);
+    if (articleModel.getPublishedAt() == null) {
+      articleModel.setPublishedAt(new Date());
+    }
     articleRepository.save(articleModel);
+    eventPublisher.publishEvent(new ArticleChangedEvent(id));
+    eventPublisher.publishEvent(new ArticlePublishedEvent(id));
   }
 
   @Transactional
@@ -248,6 +411,7 @@ public class ArticleService {
     }
     articleModel.setStatus(Status.HIDDEN);
     articleRepository.save(articleModel);
+    eventPublisher.publishEvent(new ArticleChangedEvent(id));
   }
 
   @Transactional
@@ -259,6 +423,7 @@ public class ArticleService {
     if (!userModel.getId().equals(articleModel.getUser().getId())) {
       throw new AccessDeniedException("You are not allowed to update this article");
     }
+    ArticleTaxonomy taxonomyBefore = ArticleTaxonomy.of(articleModel);
     List<CategoryModel> categories = new ArrayList<>(
         categoryRepository.findAllById(updateArticle.getCategoryIds()));
     List<String> tags = updateArticle.getTags();
@@ -286,12 +451,13 @@ public class ArticleService {
     articleModel.setLanguage(updateArticle.getLanguage());
     articleModel.setStatus(Status.MODERATION);
     articleModel.setTitle(updateArticle.getTitle());
-    articleModel.setPreviewContent(updateArticle.getPreviewContent());
-    articleModel.setContent(updateArticle.getContent());
+    updateContent(articleModel, updateArticle.getPreviewContent(), updateArticle.getContent());
     articleModel.setCategories(categories);
     articleModel.setTags(tagModels);
     articleModel.setUser(userModel);
     articleRepository.save(articleModel);
+    categoryTagStatsService.articleChanged(taxonomyBefore, ArticleTaxonomy.of(articleModel));
+    eventPublisher.publishEvent(new ArticleChangedEvent(id));
   }
 
   @Transactional
@@ -301,7 +467,10 @@ public class ArticleService {
     ArticleModel articleModel = articleRepository.findById(id)
         .orElseThrow(() -> new ArticleNotFoundException("Article not found"));
     if (Objects.equals(userModel.getId(), articleModel.getUser().getId())) {
+      categoryTagStatsService.articleChanged(ArticleTaxonomy.of(articleModel),
+          ArticleTaxonomy.EMPTY);
       articleRepository.deleteById(id);
+      eventPublisher.publishEvent(new ArticleChangedEvent(id));
     } else {
       throw new AccessDeniedException("You are not accessible to delete this article");
     }
@@ -320,6 +489,9 @@ public class ArticleService {
     BookmarkModel bookmark = BookmarkModel.builder().user(userModel).article(article)
         .createdAt(new Date()).build();
     bookmarkRepository.save(bookmark);
+    articleRepository.addBookmarksCount(articleId, 1);
+    trendingService.recordBookmark(articleId);
+    eventPublisher.publishEvent(new ArticleChangedEvent(articleId));
   }
 
   @Transactional
@@ -337,7 +509,32 @@ public class ArticleService {
         .orElseThrow(() -> new UsernameNotFoundException("Bookmarking user not found"));
     ArticleModel article = articleRepository.findById(articleId).orElseThrow(
         () -> new ArticleNotFoundException("Article with id " + articleId + " not found"));
-    bookmarkRepository.deleteByUserAndArticle(userModel, article);
+    if (bookmarkRepository.deleteByUserAndArticle(userModel, article) > 0) {
+      articleRepository.addBookmarksCount(articleId, -1);
+    }
+    eventPublisher.publishEvent(new ArticleChangedEvent(articleId));
+  }
+
+  private void updateContent(ArticleModel articleModel, String previewContent, String content) {
+    boolean contentChanged = content != null && !content.equals(articleModel.getContent());
+    if (content != null) {
+      articleModel.setContent(content);
+    }
+    boolean previewProvided = StringUtils.hasText(previewContent) && !(
+        articleModel.isPreviewGenerated() && previewContent.equals(
+            articleModel.getPreviewContent()));
+    if (previewProvided) {
+      articleModel.setPreviewContent(previewContent);
+      articleModel.setPreviewGenerated(false);
+      return;
+    }
+    boolean previewMissing = !StringUtils.hasText(articleModel.getPreviewContent());
+    if (articleModel.getContent() != null && (previewMissing
+        || articleModel.isPreviewGenerated() && contentChanged)) {
+      articleModel.setPreviewContent(
+          createHtmlPreview(articleModel.getContent(), previewMaxLength));
+      articleModel.setPreviewGenerated(true);
+    }
   }
 
   private GetArticle convertArticleModelToDTO(ArticleModel articleModel) {
@@ -358,7 +555,8 @@ public class ArticleService {
           return GetCategory.builder().id(category.getId()).name(localizedCategoryName).build();
         }).toList()).tags(articleModel.getTags().stream()
             .map(tagModel -> GetTag.builder().id(tagModel.getId()).name(tagModel.getName()).build())
-            .toList()).bookmarksCount(articleModel.getBookmarks().size())
+            .toList()).bookmarksCount((int) articleModel.getBookmarksCount())
+        .viewsCount(articleModel.getViewsCount())
         .createdAt(articleModel.getCreatedAt()).updatedAt(articleModel.getUpdatedAt()).build();
   }
 }
@@ -0,0 +1,75 @@
+package com.github.airatgaliev.itblogback.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleViewCounter {
+
+  private static final String ADD_VIEWS = "UPDATE articles SET views_count = views_count + ? WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+  public void recordView(Long articleId) {
+    addViews(articleId, 1);
+  }
+
+  public long pendingViews(Long articleId) {
+    LongAdder adder = pendingViews.get(articleId);
+    return adder != null ? adder.sum() : 0;
+  }
+
+  @Scheduled(fixedDelayString = "${article.views.flush-interval}")
+  public synchronized void flush() {
+    List<Object[]> deltas = new ArrayList<>();
+    pendingViews.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+      LongAdder adder = entry.getValue();
+      long delta = adder.sumThenReset();
+      if (delta == 0 && pendingViews.remove(entry.getKey(), adder)) {
+        delta = adder.sumThenReset();
+      }
+      if (delta > 0) {
+        deltas.add(new Object[]{delta, entry.getKey()});
+      }
+    });
+    if (deltas.isEmpty()) {
+      return;
+    }
+    try {
+      jdbcTemplate.batchUpdate(ADD_VIEWS, deltas);
+    } catch (RuntimeException e) {
+      deltas.forEach(delta -> addViews((Long) delta[1], (Long) delta[0]));
+      log.warn("Failed to flush views of {} articles, retrying later.", deltas.size(), e);
+    }
+  }
+
+  private void addViews(Long articleId, long views) {
+    LongAdder adder = pendingViews.computeIfAbsent(articleId, id -> new LongAdder());
+    adder.add(views);
+    while (pendingViews.get(articleId) != adder) {
+      long orphaned = adder.sumThenReset();
+      if (orphaned == 0) {
+        return;
+      }
+      adder = pendingViews.computeIfAbsent(articleId, id -> new LongAdder());
+      adder.add(orphaned);
+    }
+  }
+
+  @PreDestroy
+  public void onShutdown() {
+    flush();
+  }
+}
@@ -18,6 +18,8 @@ import com.github.airatgaliev.itblogback.model.ConfirmationToken;
 import com.github.airatgaliev.itblogback.model.Role;
 import com.github.airatgaliev.itblogback.model.UserModel;
 import com.github.airatgaliev.itblogback.repository.UserRepository;
+import com.github.airatgaliev.itblogback.security.LoginRateLimiter;
+import com.github.airatgaliev.itblogback.security.TokenCache;
 import com.github.airatgaliev.itblogback.util.FileUploadUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -55,6 +57,8 @@ public class AuthenticationService implements OAuth2UserService<OAuth2UserReques
   private final AuthenticationManager authenticationManager;
   private final UserDetailsService userDetailsService;
   private final JwtService jwtService;
+  private final TokenCache tokenCache;
+  private final LoginRateLimiter loginRateLimiter;
   private final FileUploadUtil fileUploadUtil;
   private final List<OAuth2ProviderHandler> providerHandlers;
   private final EmailService emailService;
@@ -101,7 +105,9 @@ public class AuthenticationService implements OAuth2UserService<OAuth2UserReques
   }
 
   @Transactional
-  public AuthenticationResponse signIn(SignInRequest input, HttpServletResponse response) {
+  public AuthenticationResponse signIn(SignInRequest input, HttpServletRequest request,
+      HttpServletResponse response) {
+    loginRateLimiter.acquire(request.getRemoteAddr(), input.getUsernameOrEmail());
     log.info("Attempting to authenticate user: {}", input.getUsernameOrEmail());
     try {
       UserModel user = userRepository.findByUsernameOrEmail(input.getUsernameOrEmail(),
@@ -190,6 +196,7 @@ public class AuthenticationService implements OAuth2UserService<OAuth2UserReques
         String username = jwtService.extractUsername(token);
         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
         if (jwtService.isTokenValid(token, userDetails)) {
+          tokenCache.evict(token);
           invalidateToken(response);
           log.info("User logged out successfully: {}", username);
         }
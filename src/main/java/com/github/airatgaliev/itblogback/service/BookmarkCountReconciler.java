@@ -0,0 +1,25 @@
+package com.github.airatgaliev.itblogback.service;
+
+import com.github.airatgaliev.itblogback.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookmarkCountReconciler {
+
+  private final ArticleRepository articleRepository;
+
+  @Scheduled(cron = "${article.bookmarks.reconcile-cron}")
+  @Transactional
+  public void reconcile() {
+    int fixed = articleRepository.recountBookmarks();
+    if (fixed > 0) {
+      log.warn("Reconciled bookmark counters of {} articles.", fixed);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.github.airatgaliev.itblogback.service;
+
+import com.github.airatgaliev.itblogback.dto.GetCategory;
+import com.github.airatgaliev.itblogback.dto.GetTag;
+import com.github.airatgaliev.itblogback.event.ArticleChangedEvent;
+import com.github.airatgaliev.itblogback.event.CategoryChangedEvent;
+import com.github.airatgaliev.itblogback.model.CategoryModel;
+import com.github.airatgaliev.itblogback.model.Language;
+import com.github.airatgaliev.itblogback.repository.CategoryRepository;
+import com.github.airatgaliev.itblogback.repository.TagRepository;
+import com.github.airatgaliev.itblogback.repository.projections.CategoryTopTag;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryCatalogue {
+
+  private final CategoryRepository categoryRepository;
+  private final TagRepository tagRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final AtomicBoolean dirty = new AtomicBoolean(true);
+  private volatile Map<Language, Map<Long, GetCategory>> snapshot;
+
+  @Value("${category.top-tags.limit}")
+  private int topTagsLimit;
+
+  public List<GetCategory> getCategories(Language language) {
+    return List.copyOf(snapshot().get(language).values());
+  }
+
+  public Optional<GetCategory> getCategory(Long id, Language language) {
+    return Optional.ofNullable(snapshot().get(language).get(id));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCategoryChanged(CategoryChangedEvent event) {
+    dirty.set(true);
+    refresh();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleChanged(ArticleChangedEvent event) {
+    dirty.set(true);
+  }
+
+  @Scheduled(fixedDelayString = "${category.catalogue.refresh-interval}")
+  public void refreshIfDirty() {
+    if (dirty.get()) {
+      refresh();
+    }
+  }
+
+  public synchronized void refresh() {
+    if (!dirty.getAndSet(false)) {
+      return;
+    }
+    try {
+      snapshot = transactionTemplate.execute(status -> build());
+    } catch (RuntimeException e) {
+      dirty.set(true);
+      throw e;
+    }
+  }
+
+  static GetCategory convertCategoryToDTO(CategoryModel category, Language language,
+      List<GetTag> tags) {
+    return GetCategory.builder().id(category.getId())
+        .name(getLocalizedValue(category.getName(), language))
+        .description(getLocalizedValue(category.getDescription(), language))
+        .imageUrl(category.getImageUrl()).articlesCount(category.getArticleCount()).tags(tags)
+        .build();
+  }
+
+  private Map<Language, Map<Long, GetCategory>> snapshot() {
+    Map<Language, Map<Long, GetCategory>> current = snapshot;
+    if (current == null) {
+      refresh();
+      current = snapshot;
+    }
+    return current;
+  }
+
+  private Map<Language, Map<Long, GetCategory>> build() {
+    List<CategoryModel> categories = categoryRepository.findAllWithLocalizations();
+    Map<Long, List<GetTag>> topTags = tagRepository.findTopTagsPerCategory(topTagsLimit).stream()
+        .collect(Collectors.groupingBy(CategoryTopTag::getCategoryId, Collectors.mapping(
+            tag -> GetTag.builder().id(tag.getTagId()).name(tag.getName()).build(),
+            Collectors.toList())));
+    Map<Language, Map<Long, GetCategory>> catalogue = new EnumMap<>(Language.class);
+    Arrays.stream(Language.values()).forEach(language -> {
+      Map<Long, GetCategory> localized = new LinkedHashMap<>();
+      categories.forEach(category -> localized.put(category.getId(),
+          convertCategoryToDTO(category, language,
+              List.copyOf(topTags.getOrDefault(category.getId(), List.of())))));
+      catalogue.put(language, localized);
+    });
+    log.debug("Category catalogue rebuilt with {} categories.", categories.size());
+    return catalogue;
+  }
+
+  private static String getLocalizedValue(Map<Language, String> values,
+      Language preferredLanguage) {
+    if (values.containsKey(preferredLanguage) && StringUtils.hasText(
+        values.get(preferredLanguage))) {
+      return values.get(preferredLanguage);
+    }
+    if (values.containsKey(Language.EN) && StringUtils.hasText(values.get(preferredLanguage))) {
+      return values.get(Language.EN);
+    }
+    return values.values().stream().filter(StringUtils::hasText).findFirst().orElse(null);
+  }
+}
@@ -2,25 +2,21 @@ package com.github.airatgaliev.itblogback.service;
 
 import com.github.airatgaliev.itblogback.dto.CreateCategory;
 import com.github.airatgaliev.itblogback.dto.GetCategory;
-import com.github.airatgaliev.itblogback.dto.GetTag;
 import com.github.airatgaliev.itblogback.dto.UpdateCategory;
+import com.github.airatgaliev.itblogback.event.CategoryChangedEvent;
 import com.github.airatgaliev.itblogback.interceptor.localization.LocalizationContext;
 import com.github.airatgaliev.itblogback.model.CategoryModel;
 import com.github.airatgaliev.itblogback.model.Language;
-import com.github.airatgaliev.itblogback.model.TagModel;
 import com.github.airatgaliev.itblogback.repository.CategoryRepository;
-import com.github.airatgaliev.itblogback.repository.TagRepository;
 import com.github.airatgaliev.itblogback.util.FileUploadUtil;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 @Slf4j
@@ -29,18 +25,18 @@ import org.springframework.web.multipart.MultipartFile;
 public class CategoryService {
 
   private final CategoryRepository categoryRepository;
-  private final TagRepository tagRepository;
+  private final CategoryCatalogue categoryCatalogue;
+  private final CategoryTagStatsService categoryTagStatsService;
   private final FileUploadUtil fileUploadUtil;
   private final LocalizationContext localizationContext;
+  private final ApplicationEventPublisher eventPublisher;
 
-  @Transactional
   public List<GetCategory> getAllCategories() {
-    return categoryRepository.findAll().stream().map(this::convertCategoryToDTO).toList();
+    return categoryCatalogue.getCategories(interfaceLanguage());
   }
 
-  @Transactional
   public Optional<GetCategory> getCategoryById(Long id) {
-    return categoryRepository.findById(id).map(this::convertCategoryToDTO);
+    return categoryCatalogue.getCategory(id, interfaceLanguage());
   }
 
   @Transactional
@@ -51,6 +47,7 @@ public class CategoryService {
     MultipartFile image = createCategory.getImage();
     uploadCategoryImage(image, category);
     category = categoryRepository.save(category);
+    eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
     return convertCategoryToDTO(category);
   }
 
@@ -62,6 +59,7 @@ public class CategoryService {
     MultipartFile image = updateCategory.getImage();
     uploadCategoryImage(image, category);
     categoryRepository.save(category);
+    eventPublisher.publishEvent(new CategoryChangedEvent(id));
   }
 
   @Transactional
@@ -70,10 +68,12 @@ public class CategoryService {
         .orElseThrow(EntityNotFoundException::new);
     category.getArticles().forEach(article -> article.getCategories().remove(category));
     categoryRepository.delete(category);
+    categoryTagStatsService.categoryDeleted(id);
+    eventPublisher.publishEvent(new CategoryChangedEvent(id));
   }
 
   private void setLocalizedCategoryFields(CategoryModel category, String name, String description) {
-    Language language = Language.valueOf(localizationContext.getLocale().toUpperCase());
+    Language language = interfaceLanguage();
     Optional.ofNullable(name).ifPresent(n -> category.getName().put(language, n));
     Optional.ofNullable(description).ifPresent(d -> category.getDescription().put(language, d));
   }
@@ -86,26 +86,10 @@ public class CategoryService {
   }
 
   private GetCategory convertCategoryToDTO(CategoryModel category) {
-    List<TagModel> topTags = tagRepository.findTop10TagsByCategoryId(category.getId());
-    Language interfaceLanguage = Language.valueOf(localizationContext.getLocale().toUpperCase());
-    String localizedCategoryName = getLocalizedValue(category.getName(), interfaceLanguage);
-    String localizedCategoryDescription = getLocalizedValue(category.getDescription(),
-        interfaceLanguage);
-    return GetCategory.builder().id(category.getId()).name(localizedCategoryName)
-        .description(localizedCategoryDescription).imageUrl(category.getImageUrl()).tags(
-            topTags.stream().map(
-                    tagModel -> GetTag.builder().id(tagModel.getId()).name(tagModel.getName()).build())
-                .toList()).build();
+    return CategoryCatalogue.convertCategoryToDTO(category, interfaceLanguage(), List.of());
   }
 
-  private String getLocalizedValue(Map<Language, String> values, Language preferredLanguage) {
-    if (values.containsKey(preferredLanguage) && StringUtils.hasText(
-        values.get(preferredLanguage))) {
-      return values.get(preferredLanguage);
-    }
-    if (values.containsKey(Language.EN) && StringUtils.hasText(values.get(preferredLanguage))) {
-      return values.get(Language.EN);
-    }
-    return values.values().stream().filter(StringUtils::hasText).findFirst().orElse(null);
+  private Language interfaceLanguage() {
+    return Language.valueOf(localizationContext.getLocale().toUpperCase());
   }
 }
@@ -0,0 +1,111 @@
+package com.github.airatgaliev.itblogback.service;
+
+import com.github.airatgaliev.itblogback.model.ArticleModel;
+import com.github.airatgaliev.itblogback.model.CategoryModel;
+import com.github.airatgaliev.itblogback.model.TagModel;
+import com.github.airatgaliev.itblogback.repository.CategoryRepository;
+import com.github.airatgaliev.itblogback.repository.CategoryTagStatRepository;
+import com.github.airatgaliev.itblogback.repository.TagRepository;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryTagStatsService {
+
+  private final CategoryRepository categoryRepository;
+  private final TagRepository tagRepository;
+  private final CategoryTagStatRepository categoryTagStatRepository;
+
+  public record ArticleTaxonomy(Set<Long> categoryIds, Set<Long> tagIds) {
+
+    public static final ArticleTaxonomy EMPTY = new ArticleTaxonomy(Set.of(), Set.of());
+
+    public static ArticleTaxonomy of(ArticleModel article) {
+      return new ArticleTaxonomy(
+          article.getCategories().stream().map(CategoryModel::getId).collect(Collectors.toSet()),
+          article.getTags().stream().map(TagModel::getId).collect(Collectors.toSet()));
+    }
+  }
+
+  @Transactional
+  public void articleChanged(ArticleTaxonomy before, ArticleTaxonomy after) {
+    addArticleCount(before.categoryIds(), after.categoryIds(), categoryRepository::addArticleCount);
+    addArticleCount(before.tagIds(), after.tagIds(), tagRepository::addArticleCount);
+    for (Long categoryId : union(before.categoryIds(), after.categoryIds())) {
+      for (Long tagId : union(before.tagIds(), after.tagIds())) {
+        int delta = (after.categoryIds().contains(categoryId) && after.tagIds().contains(tagId)
+            ? 1 : 0) - (before.categoryIds().contains(categoryId) && before.tagIds()
+            .contains(tagId) ? 1 : 0);
+        if (delta != 0) {
+          categoryTagStatRepository.addArticleCount(categoryId, tagId, delta);
+        }
+      }
+    }
+  }
+
+  @Transactional
+  public void authorDeleted(Long userId) {
+    categoryRepository.subtractArticlesOfUser(userId);
+    tagRepository.subtractArticlesOfUser(userId);
+    categoryTagStatRepository.subtractArticlesOfUser(userId);
+  }
+
+  @Transactional
+  public void categoryDeleted(Long categoryId) {
+    categoryTagStatRepository.deleteByCategoryId(categoryId);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void onApplicationReady() {
+    if (!categoryTagStatRepository.isPopulated()) {
+      reconcile();
+    }
+  }
+
+  @Scheduled(cron = "${category.stats.reconcile-cron}")
+  @Transactional
+  public void reconcile() {
+    categoryTagStatRepository.lockCounters();
+    categoryTagStatRepository.deleteAllStats();
+    categoryTagStatRepository.rebuildStats();
+    categoryRepository.recountArticles();
+    tagRepository.recountArticles();
+    log.info("Category and tag article counters reconciled.");
+  }
+
+  private void addArticleCount(Set<Long> before, Set<Long> after, CountUpdate update) {
+    Set<Long> removed = new HashSet<>(before);
+    removed.removeAll(after);
+    Set<Long> added = new HashSet<>(after);
+    added.removeAll(before);
+    if (!removed.isEmpty()) {
+      update.apply(removed, -1);
+    }
+    if (!added.isEmpty()) {
+      update.apply(added, 1);
+    }
+  }
+
+  private Set<Long> union(Set<Long> first, Set<Long> second) {
+    Set<Long> union = new HashSet<>(first);
+    union.addAll(second);
+    return union;
+  }
+
+  @FunctionalInterface
+  private interface CountUpdate {
+
+    void apply(Set<Long> ids, int delta);
+  }
+}
@@ -0,0 +1,30 @@
+package com.github.airatgaliev.itblogback.service;
+
+import com.github.airatgaliev.itblogback.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentRepliesReconciler {
+
+  private final CommentRepository commentRepository;
+
+  @Async
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${comment.replies.reconcile-cron}")
+  @Transactional
+  public void reconcile() {
+    int fixed = commentRepository.recountReplies();
+    if (fixed > 0) {
+      log.warn("Reconciled reply counters of {} comments.", fixed);
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.github.airatgaliev.itblogback.service;
 
 import com.github.airatgaliev.itblogback.dto.CreateComment;
+import com.github.airatgaliev.itblogback.dto.CursorPage;
 import com.github.airatgaliev.itblogback.dto.GetArticle;
 import com.github.airatgaliev.itblogback.dto.GetComment;
 import com.github.airatgaliev.itblogback.dto.GetUser;
@@ -13,10 +14,21 @@ import com.github.airatgaliev.itblogback.model.UserModel;
 import com.github.airatgaliev.itblogback.repository.ArticleRepository;
 import com.github.airatgaliev.itblogback.repository.CommentRepository;
 import com.github.airatgaliev.itblogback.repository.UserRepository;
+import com.github.airatgaliev.itblogback.repository.projections.CommentRow;
+import com.github.airatgaliev.itblogback.repository.projections.UserCommentRow;
+import com.github.airatgaliev.itblogback.util.KeysetCursor;
 import jakarta.transaction.Transactional;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -28,13 +40,39 @@ public class CommentService {
   private final CommentRepository commentRepository;
   private final ArticleRepository articleRepository;
   private final UserRepository userRepository;
+  private final TrendingService trendingService;
+
+  @Value("${comment.max-page-size}")
+  private int maxPageSize;
 
   @Transactional
   public List<GetComment> getCommentsByArticleId(Long articleId) {
-    articleRepository.findById(articleId)
-        .orElseThrow(() -> new ArticleNotFoundException("Article not found"));
-    return commentRepository.findByArticleIdAndParentCommentIsNullOrderByCreatedAtAsc(articleId)
-        .stream().map(this::convertCommentModelToDTO).toList();
+    if (!articleRepository.existsById(articleId)) {
+      throw new ArticleNotFoundException("Article not found");
+    }
+    return buildCommentTree(commentRepository.findRowsByArticleId(articleId));
+  }
+
+  @Transactional
+  public CursorPage<GetComment> getCommentsByArticleId(Long articleId, String cursor, int size) {
+    if (!articleRepository.existsById(articleId)) {
+      throw new ArticleNotFoundException("Article not found");
+    }
+    KeysetCursor keyset = startingAt(cursor);
+    int limit = pageLimit(size);
+    return toCursorPage(commentRepository.findTopLevelRowsAfter(articleId,
+        Timestamp.from(keyset.createdAt()), keyset.id(), PageRequest.of(0, limit + 1)), limit);
+  }
+
+  @Transactional
+  public CursorPage<GetComment> getReplies(Long commentId, String cursor, int size) {
+    if (!commentRepository.existsById(commentId)) {
+      throw new CommentNotFoundException("Comment not found by id " + commentId);
+    }
+    KeysetCursor keyset = startingAt(cursor);
+    int limit = pageLimit(size);
+    return toCursorPage(commentRepository.findReplyRowsAfter(commentId,
+        Timestamp.from(keyset.createdAt()), keyset.id(), PageRequest.of(0, limit + 1)), limit);
   }
 
   @Transactional
@@ -54,9 +92,12 @@ public class CommentService {
           .orElseThrow(() -> new CommentNotFoundException(
               "Comment not found by id " + createComment.getParentCommentId()));
       comment.setParentComment(parentComment);
+      commentRepository.addRepliesCount(parentComment.getId(), 1);
     }
 
-    return convertCommentModelToDTO(commentRepository.save(comment));
+    GetComment savedComment = convertCommentModelToDTO(commentRepository.save(comment));
+    trendingService.recordComment(article.getId());
+    return savedComment;
   }
 
   @Transactional
@@ -74,16 +115,25 @@ public class CommentService {
   }
 
   @Transactional
-  public List<GetComment> getCommentsByUsername(String username) {
+  public CursorPage<GetComment> getCommentsByUsername(String username, String cursor, int size) {
     UserModel userModel = userRepository.findByUsername(username)
         .orElseThrow(() -> new UsernameNotFoundException("User not found by username " + username));
-    return userModel.getComments().stream().map(commentModel -> {
-      GetComment getComment = convertCommentModelToDTO(commentModel);
-      getComment.setArticle(GetArticle.builder().id(commentModel.getArticle().getId())
-          .title(commentModel.getArticle().getTitle()).build());
-      getComment.setReplies(null);
-      return getComment;
-    }).toList();
+    KeysetCursor keyset = KeysetCursor.decode(cursor);
+    if (keyset == null) {
+      keyset = new KeysetCursor(Instant.now().plus(1, ChronoUnit.DAYS), Long.MAX_VALUE);
+    }
+    int limit = pageLimit(size);
+    List<UserCommentRow> rows = commentRepository.findUserCommentRowsBefore(userModel.getId(),
+        Timestamp.from(keyset.createdAt()), keyset.id(), PageRequest.of(0, limit + 1));
+    String nextCursor = null;
+    if (rows.size() > limit) {
+      rows = rows.subList(0, limit);
+      UserCommentRow last = rows.getLast();
+      nextCursor = new KeysetCursor(last.createdAt().toInstant(), last.id()).encode();
+    }
+    return CursorPage.<GetComment>builder().content(rows.stream()
+            .map(this::convertUserCommentRowToDTO).toList()).nextCursor(nextCursor).size(limit)
+        .build();
   }
 
   @Transactional
@@ -93,16 +143,68 @@ public class CommentService {
     if (!comment.getUser().getUsername().equals(userDetails.getUsername())) {
       throw new SecurityException("You are not authorized to delete this comment");
     }
+    if (comment.getParentComment() != null) {
+      commentRepository.addRepliesCount(comment.getParentComment().getId(), -1);
+    }
     commentRepository.delete(comment);
   }
 
-  private GetComment convertCommentModelToDTO(CommentModel commentModel) {
-    List<GetComment> replies = commentModel.getReplies().stream()
-        .map(this::convertCommentModelToDTO).toList();
+  private int pageLimit(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Size must be at least 1");
+    }
+    return Math.min(size, maxPageSize);
+  }
+
+  private KeysetCursor startingAt(String cursor) {
+    KeysetCursor keyset = KeysetCursor.decode(cursor);
+    return keyset != null ? keyset : new KeysetCursor(Instant.EPOCH, 0L);
+  }
+
+  private CursorPage<GetComment> toCursorPage(List<CommentRow> rows, int size) {
+    String nextCursor = null;
+    if (rows.size() > size) {
+      rows = rows.subList(0, size);
+      CommentRow last = rows.getLast();
+      nextCursor = new KeysetCursor(last.createdAt().toInstant(), last.id()).encode();
+    }
+    return CursorPage.<GetComment>builder().content(rows.stream().map(this::convertCommentRowToDTO)
+        .toList()).nextCursor(nextCursor).size(size).build();
+  }
+
+  private GetComment convertCommentRowToDTO(CommentRow row) {
+    return GetComment.builder().id(row.id()).content(row.content())
+        .user(GetUser.builder().username(row.username()).avatarUrl(row.avatarUrl()).build())
+        .repliesCount(row.repliesCount()).createdAt(row.createdAt()).build();
+  }
+
+  private GetComment convertUserCommentRowToDTO(UserCommentRow row) {
+    return GetComment.builder().id(row.id()).content(row.content()).createdAt(row.createdAt())
+        .article(GetArticle.builder().id(row.articleId()).title(row.articleTitle()).build())
+        .build();
+  }
+
+  private List<GetComment> buildCommentTree(List<CommentRow> rows) {
+    Map<Long, GetComment> comments = new HashMap<>(rows.size() * 2);
+    List<GetComment> topLevelComments = new ArrayList<>();
+    for (CommentRow row : rows) {
+      GetComment comment = convertCommentRowToDTO(row);
+      comment.setReplies(new ArrayList<>());
+      comments.put(row.id(), comment);
+    }
+    for (CommentRow row : rows) {
+      GetComment parent =
+          row.parentCommentId() != null ? comments.get(row.parentCommentId()) : null;
+      (parent != null ? parent.getReplies() : topLevelComments).add(comments.get(row.id()));
+    }
+    return topLevelComments;
+  }
 
+  private GetComment convertCommentModelToDTO(CommentModel commentModel) {
     return GetComment.builder().id(commentModel.getId()).content(commentModel.getContent()).user(
             GetUser.builder().username(commentModel.getUser().getUsername())
                 .avatarUrl(commentModel.getUser().getAvatarUrl()).build())
-        .createdAt(commentModel.getCreatedAt()).replies(replies).build();
+        .repliesCount(commentModel.getRepliesCount()).createdAt(commentModel.getCreatedAt())
+        .build();
   }
 }
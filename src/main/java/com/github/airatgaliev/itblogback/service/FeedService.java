@@ -0,0 +1,123 @@
+package com.github.airatgaliev.itblogback.service;
+
+import com.github.airatgaliev.itblogback.dto.CursorPage;
+import com.github.airatgaliev.itblogback.dto.GetArticle;
+import com.github.airatgaliev.itblogback.event.ArticlePublishedEvent;
+import com.github.airatgaliev.itblogback.model.Status;
+import com.github.airatgaliev.itblogback.model.UserModel;
+import com.github.airatgaliev.itblogback.repository.ArticleRepository;
+import com.github.airatgaliev.itblogback.repository.FeedEntryRepository;
+import com.github.airatgaliev.itblogback.repository.SubscriptionRepository;
+import com.github.airatgaliev.itblogback.repository.UserRepository;
+import com.github.airatgaliev.itblogback.repository.projections.FeedItem;
+import com.github.airatgaliev.itblogback.util.KeysetCursor;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedService {
+
+  private static final Comparator<FeedItem> NEWEST_FIRST = Comparator.comparing(
+      (FeedItem item) -> item.publishedAt().toInstant()).thenComparing(FeedItem::articleId)
+      .reversed();
+
+  private final FeedEntryRepository feedEntryRepository;
+  private final ArticleRepository articleRepository;
+  private final SubscriptionRepository subscriptionRepository;
+  private final UserRepository userRepository;
+  private final ArticleListAssembler articleListAssembler;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${feed.max-length}")
+  private int maxLength;
+  @Value("${feed.fan-out.max-subscribers}")
+  private long maxFanOutSubscribers;
+  @Value("${feed.max-page-size}")
+  private int maxPageSize;
+
+  @Transactional
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    int filled = articleRepository.backfillPublishedAt();
+    if (filled > 0) {
+      log.info("Filled publication time for {} articles.", filled);
+    }
+  }
+
+  @Async
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticlePublished(ArticlePublishedEvent event) {
+    transactionTemplate.executeWithoutResult(
+        status -> articleRepository.findById(event.articleId()).ifPresent(article -> {
+          Long authorId = article.getUser().getId();
+          if (article.getPublishedAt() == null
+              || article.getUser().getSubscribersCount() > maxFanOutSubscribers) {
+            return;
+          }
+          int pushed = feedEntryRepository.fanOut(authorId, article.getId(),
+              article.getPublishedAt());
+          if (pushed > 0) {
+            feedEntryRepository.trimFeedsReceiving(article.getId(), article.getPublishedAt(),
+                maxLength);
+          }
+          log.debug("Pushed article {} to {} feeds.", article.getId(), pushed);
+        }));
+  }
+
+  @Transactional(readOnly = true)
+  public CursorPage<GetArticle> getFeed(String username, String cursor, int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Size must be at least 1");
+    }
+    int limit = Math.min(size, maxPageSize);
+    UserModel userModel = userRepository.findByUsername(username)
+        .orElseThrow(() -> new UsernameNotFoundException("User not found " + username));
+    KeysetCursor keyset = KeysetCursor.decode(cursor);
+    if (keyset == null) {
+      keyset = new KeysetCursor(Instant.now().plus(1, ChronoUnit.DAYS), Long.MAX_VALUE);
+    }
+    Timestamp publishedAt = Timestamp.from(keyset.createdAt());
+    PageRequest page = PageRequest.of(0, limit + 1);
+    List<FeedItem> pushed = feedEntryRepository.findFeedItems(userModel.getId(), publishedAt,
+        keyset.id(), page);
+    List<Long> pulledAuthorIds = subscriptionRepository.findPulledAuthorIds(userModel.getId(),
+        maxFanOutSubscribers);
+    List<FeedItem> pulled = pulledAuthorIds.isEmpty() ? List.of()
+        : articleRepository.findFeedItemsByAuthors(pulledAuthorIds, publishedAt, keyset.id(),
+            page);
+    List<FeedItem> items = Stream.concat(pushed.stream(), pulled.stream())
+        .collect(Collectors.toMap(FeedItem::articleId, Function.identity(), (a, b) -> a))
+        .values().stream().sorted(NEWEST_FIRST).limit(limit + 1L).toList();
+    String nextCursor = null;
+    if (items.size() > limit) {
+      items = items.subList(0, limit);
+      FeedItem last = items.getLast();
+      nextCursor = new KeysetCursor(last.publishedAt().toInstant(), last.articleId()).encode();
+    }
+    List<GetArticle> articles = articleListAssembler.assemble(
+            items.stream().map(FeedItem::articleId).toList()).stream()
+        .filter(article -> article.getStatus() == Status.PUBLISHED).toList();
+    return CursorPage.<GetArticle>builder().content(articles).nextCursor(nextCursor).size(limit)
+        .build();
+  }
+}
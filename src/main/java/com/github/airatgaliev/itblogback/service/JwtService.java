@@ -1,7 +1,9 @@
 package com.github.airatgaliev.itblogback.service;
 
 import com.github.airatgaliev.itblogback.model.UserModel;
+import com.github.airatgaliev.itblogback.security.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -17,23 +19,33 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtService {
 
-  @Value("${security.jwt.secret-key}")
-  private String secretKey;
-  @Value("${security.jwt.expiration-time}")
-  private long jwtExpiration;
+  public static final String ROLE_CLAIM = "role";
+  public static final String VERSION_CLAIM = "ver";
+
+  private final SecretKey signInKey;
+  private final JwtParser parser;
+  private final long jwtExpiration;
+
+  public JwtService(@Value("${security.jwt.secret-key}") String secretKey,
+      @Value("${security.jwt.expiration-time}") long jwtExpiration) {
+    this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+    this.parser = Jwts.parser().verifyWith(signInKey).build();
+    this.jwtExpiration = jwtExpiration;
+  }
 
   public String extractUsername(String token) {
     return extractClaim(token, Claims::getSubject);
   }
 
   public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
+    final Claims claims = parseToken(token);
     return claimsResolver.apply(claims);
   }
 
   public String generateToken(UserModel userModel) {
     Map<String, Object> claims = new HashMap<>();
-    claims.put("role", userModel.getRole().name());
+    claims.put(ROLE_CLAIM, userModel.getRole().name());
+    claims.put(VERSION_CLAIM, userModel.getTokenVersion());
     return buildToken(claims, userModel, jwtExpiration);
   }
 
@@ -45,29 +57,38 @@ public class JwtService {
       long expiration) {
     return Jwts.builder().claims(extraClaims).subject(userDetails.getUsername())
         .issuedAt(new Date(System.currentTimeMillis()))
-        .expiration(new Date(System.currentTimeMillis() + expiration)).signWith(getSignInKey())
+        .expiration(new Date(System.currentTimeMillis() + expiration)).signWith(signInKey)
         .compact();
   }
 
   public boolean isTokenValid(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    return isTokenValid(parseToken(token), userDetails);
+  }
+
+  public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+    return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
   }
 
   public boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
+    return isTokenExpired(parseToken(token));
+  }
+
+  public int extractVersion(Claims claims) {
+    Integer version = claims.get(VERSION_CLAIM, Integer.class);
+    return version != null ? version : 0;
   }
 
-  private Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
+  public VerifiedToken verify(String token) {
+    Claims claims = parseToken(token);
+    return new VerifiedToken(claims.getSubject(), claims.get(ROLE_CLAIM, String.class),
+        extractVersion(claims), claims.getExpiration().getTime());
   }
 
-  private Claims extractAllClaims(String token) {
-    return Jwts.parser().verifyWith(getSignInKey()).build().parseSignedClaims(token).getPayload();
+  public Claims parseToken(String token) {
+    return parser.parseSignedClaims(token).getPayload();
   }
 
-  private SecretKey getSignInKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-    return Keys.hmacShaKeyFor(keyBytes);
+  private boolean isTokenExpired(Claims claims) {
+    return claims.getExpiration().before(new Date());
   }
 }
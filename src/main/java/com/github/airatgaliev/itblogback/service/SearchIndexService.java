@@ -0,0 +1,180 @@
+package com.github.airatgaliev.itblogback.service;
+
+import com.github.airatgaliev.itblogback.dto.GetReindexProgress;
+import com.github.airatgaliev.itblogback.model.ArticleModel;
+import com.github.airatgaliev.itblogback.model.TagModel;
+import com.github.airatgaliev.itblogback.model.UserModel;
+import com.github.airatgaliev.itblogback.repository.ArticleRepository;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleVersion;
+import com.github.airatgaliev.itblogback.search.IndexCheckpoint;
+import com.github.airatgaliev.itblogback.search.ReindexMonitor;
+import com.github.airatgaliev.itblogback.search.ReindexMonitor.Mode;
+import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.search.engine.backend.metamodel.IndexDescriptor;
+import org.hibernate.search.engine.backend.metamodel.IndexFieldDescriptor;
+import org.hibernate.search.engine.backend.metamodel.IndexValueFieldTypeDescriptor;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.mapping.SearchMapping;
+import org.hibernate.search.mapper.orm.massindexing.MassIndexer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService {
+
+  private static final String CHECKPOINT_FILE = "index.checkpoint";
+  private static final List<Class<?>> INDEXED_TYPES = List.of(ArticleModel.class,
+      TagModel.class, UserModel.class);
+
+  private final EntityManager entityManager;
+  private final ArticleRepository articleRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final AtomicReference<ReindexMonitor> currentReindex = new AtomicReference<>();
+
+  @Value("${spring.jpa.properties.hibernate.search.backend.directory.root}")
+  private String indexRoot;
+  @Value("${search.massindexer.threads}")
+  private int searchMassIndexerThreads;
+  @Value("${search.index.version}")
+  private int searchIndexVersion;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    String mappingHash = mappingHash();
+    Optional<IndexCheckpoint> checkpoint = IndexCheckpoint.read(checkpointPath());
+    if (checkpoint.isEmpty() || !mappingHash.equals(checkpoint.get().mappingHash())) {
+      log.info("Search mapping changed or no checkpoint found, rebuilding the search indexes.");
+      reindex(Mode.FULL, null, mappingHash);
+    } else if (isIndexEmpty()) {
+      log.info("Article index is empty, rebuilding the search indexes.");
+      reindex(Mode.FULL, null, mappingHash);
+    } else {
+      log.info("Reindexing entities changed since {}.", checkpoint.get().updatedAt());
+      reindex(Mode.INCREMENTAL, checkpoint.get(), mappingHash);
+    }
+  }
+
+  public Optional<GetReindexProgress> getReindexProgress() {
+    return Optional.ofNullable(currentReindex.get()).map(ReindexMonitor::toProgress);
+  }
+
+  private void reindex(Mode mode, IndexCheckpoint from, String mappingHash) {
+    ReindexMonitor monitor = new ReindexMonitor(mode);
+    ReindexMonitor previous = currentReindex.get();
+    if (previous != null && previous.isRunning()
+        || !currentReindex.compareAndSet(previous, monitor)) {
+      log.warn("Reindexing is already running.");
+      return;
+    }
+    ArticleVersion latest = articleRepository.findLatestVersions(PageRequest.of(0, 1)).stream()
+        .findFirst().orElse(new ArticleVersion(0L, Timestamp.from(Instant.EPOCH)));
+    IndexCheckpoint next = new IndexCheckpoint(mappingHash, latest.updatedAt().toInstant(),
+        latest.id());
+
+    MassIndexer massIndexer = Search.mapping(entityManager.getEntityManagerFactory())
+        .scope(INDEXED_TYPES).massIndexer()
+        .threadsToLoadObjects(searchMassIndexerThreads).monitor(monitor);
+    if (mode == Mode.FULL) {
+      massIndexer.dropAndCreateSchemaOnStart(true);
+    } else {
+      Timestamp updatedAt = Timestamp.from(from.updatedAt());
+      massIndexer.purgeAllOnStart(false);
+      massIndexer.type(ArticleModel.class).reindexOnly(
+              "COALESCE(e.updatedAt, e.createdAt) > :updatedAt "
+                  + "OR (COALESCE(e.updatedAt, e.createdAt) = :updatedAt AND e.id > :id)")
+          .param("updatedAt", updatedAt).param("id", from.id());
+      massIndexer.type(UserModel.class)
+          .reindexOnly("COALESCE(e.updatedAt, e.createdAt) >= :updatedAt")
+          .param("updatedAt", updatedAt);
+    }
+    massIndexer.start().thenRun(() -> {
+      if (mode == Mode.INCREMENTAL && !isIndexInSync()) {
+        monitor.completed();
+        log.warn("Search indexes are out of sync with the database, rebuilding them.");
+        reindex(Mode.FULL, null, mappingHash);
+        return;
+      }
+      next.write(checkpointPath());
+      monitor.completed();
+    }).exceptionally(e -> {
+      log.error("Error occurred during indexing.", e);
+      monitor.failed(e);
+      return null;
+    });
+  }
+
+  private boolean isIndexEmpty() {
+    return Boolean.TRUE.equals(transactionTemplate.execute(
+        status -> indexedCount(ArticleModel.class) == 0 && articleRepository.count() > 0));
+  }
+
+  private boolean isIndexInSync() {
+    return Boolean.TRUE.equals(transactionTemplate.execute(status -> INDEXED_TYPES.stream()
+        .allMatch(type -> {
+          long indexed = indexedCount(type);
+          long stored = entityManager.createQuery(
+              "SELECT COUNT(e) FROM " + entityManager.getMetamodel().entity(type).getName() + " e",
+              Long.class).getSingleResult();
+          if (indexed != stored) {
+            log.warn("{} index holds {} documents for {} rows.", type.getSimpleName(), indexed,
+                stored);
+          }
+          return indexed == stored;
+        })));
+  }
+
+  private long indexedCount(Class<?> type) {
+    return Search.session(entityManager).search(type).where(f -> f.matchAll())
+        .fetchTotalHitCount();
+  }
+
+  private String mappingHash() {
+    SearchMapping mapping = Search.mapping(entityManager.getEntityManagerFactory());
+    String fields = INDEXED_TYPES.stream().flatMap(type -> {
+      IndexDescriptor descriptor = mapping.indexedEntity(type).indexManager().descriptor();
+      return descriptor.staticFields().stream()
+          .map(field -> descriptor.hibernateSearchName() + "/" + describeField(field));
+    }).sorted().collect(Collectors.joining("\n"));
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+          .digest((searchIndexVersion + "\n" + fields).getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private String describeField(IndexFieldDescriptor field) {
+    if (!field.isValueField()) {
+      return field.absolutePath() + ":object";
+    }
+    IndexValueFieldTypeDescriptor type = field.toValueField().type();
+    return String.join(":", field.absolutePath(), type.valueClass().getName(),
+        String.valueOf(type.searchable()), String.valueOf(type.sortable()),
+        String.valueOf(type.projectable()), String.valueOf(type.aggregable()),
+        type.analyzerName().orElse(""), type.searchAnalyzerName().orElse(""),
+        type.normalizerName().orElse(""));
+  }
+
+  private Path checkpointPath() {
+    return Path.of(indexRoot, CHECKPOINT_FILE);
+  }
+}
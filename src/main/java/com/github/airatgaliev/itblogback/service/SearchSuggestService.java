@@ -0,0 +1,87 @@
+package com.github.airatgaliev.itblogback.service;
+
+import com.github.airatgaliev.itblogback.dto.GetSuggestion;
+import com.github.airatgaliev.itblogback.dto.GetSuggestions;
+import com.github.airatgaliev.itblogback.interceptor.localization.LocalizationContext;
+import com.github.airatgaliev.itblogback.model.ArticleModel;
+import com.github.airatgaliev.itblogback.model.Language;
+import com.github.airatgaliev.itblogback.model.Role;
+import com.github.airatgaliev.itblogback.model.Status;
+import com.github.airatgaliev.itblogback.model.TagModel;
+import com.github.airatgaliev.itblogback.model.UserModel;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+import org.hibernate.search.engine.search.predicate.dsl.SimpleBooleanPredicateClausesCollector;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class SearchSuggestService {
+
+  private static final String SUGGEST_FIELD = "suggest";
+
+  private final EntityManager entityManager;
+  private final LocalizationContext localizationContext;
+
+  @Value("${search.suggest.max-length}")
+  private int suggestMaxLength;
+  @Value("${search.suggest.max-limit}")
+  private int suggestMaxLimit;
+
+  @Transactional
+  public GetSuggestions suggest(String prefix, int limit) {
+    return GetSuggestions.builder().tags(suggestTags(prefix, limit))
+        .articles(suggestArticles(prefix, limit)).users(suggestUsers(prefix, limit)).build();
+  }
+
+  @Transactional
+  public List<GetSuggestion> suggestTags(String prefix, int limit) {
+    return suggest(TagModel.class, prefix, limit, (f, root) -> {
+    });
+  }
+
+  private List<GetSuggestion> suggestArticles(String prefix, int limit) {
+    List<String> supportedLanguages = localizationContext.getSupportedLanguages();
+    return suggest(ArticleModel.class, prefix, limit, (f, root) -> {
+      root.add(f.match().field("status").matching(Status.PUBLISHED));
+      if (supportedLanguages != null) {
+        root.add(supportedLanguages.isEmpty() ? f.matchNone() : f.terms().field("language")
+            .matchingAny(supportedLanguages.stream().map(Language::valueOf).toList()));
+      }
+    });
+  }
+
+  private List<GetSuggestion> suggestUsers(String prefix, int limit) {
+    return suggest(UserModel.class, prefix, limit, (f, root) -> {
+      root.add(f.match().field("enabled").matching(true));
+      root.add(f.not(f.match().field("role").matching(Role.ROLE_ADMIN)));
+    });
+  }
+
+  private List<GetSuggestion> suggest(Class<?> type, String prefix, int limit,
+      SuggestFilter filter) {
+    String text = prefix == null ? "" : prefix.strip();
+    if (text.isEmpty()) {
+      return List.of();
+    }
+    String query = text.length() > suggestMaxLength ? text.substring(0, suggestMaxLength) : text;
+    return Search.session(entityManager).search(type).select(f -> f.composite()
+            .from(f.id(Long.class), f.field(SUGGEST_FIELD, String.class))
+            .as((id, suggestion) -> GetSuggestion.builder().id(id).text(suggestion).build()))
+        .where((f, root) -> {
+          root.add(f.match().field(SUGGEST_FIELD).matching(query));
+          filter.apply(f, root);
+        }).fetchHits(Math.max(1, Math.min(limit, suggestMaxLimit)));
+  }
+
+  @FunctionalInterface
+  private interface SuggestFilter {
+
+    void apply(SearchPredicateFactory f, SimpleBooleanPredicateClausesCollector<?> root);
+  }
+}
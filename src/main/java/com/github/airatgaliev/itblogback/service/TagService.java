@@ -1,13 +1,13 @@
 package com.github.airatgaliev.itblogback.service;
 
 import com.github.airatgaliev.itblogback.dto.GetTag;
-import com.github.airatgaliev.itblogback.model.TagModel;
 import com.github.airatgaliev.itblogback.repository.TagRepository;
 import jakarta.transaction.Transactional;
 import java.util.List;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -16,14 +16,23 @@ import org.springframework.stereotype.Service;
 public class TagService {
 
   private final TagRepository tagRepository;
+  private final SearchSuggestService searchSuggestService;
+
+  @Value("${search.tags.max-prefix-matches}")
+  private int maxPrefixMatches;
 
   @Transactional
   public List<GetTag> getTagsByNameContaining(String name) {
-    return tagRepository.findTop10ByNameStartingWithIgnoreCase(name).stream()
-        .map(this::convertTagToDTO).toList();
+    return searchSuggestService.suggestTags(name, 10).stream()
+        .map(tag -> GetTag.builder().id(tag.getId()).name(tag.getText()).build()).toList();
   }
 
-  private GetTag convertTagToDTO(TagModel tag) {
-    return GetTag.builder().id(tag.getId()).name(tag.getName()).build();
+  @Transactional
+  public List<Long> findTagIds(String name, boolean prefix) {
+    if (!prefix) {
+      return tagRepository.findIdsByNameIgnoreCase(name);
+    }
+    String escaped = name.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    return tagRepository.findIdsByNameStartingWith(escaped, PageRequest.of(0, maxPrefixMatches));
   }
 }
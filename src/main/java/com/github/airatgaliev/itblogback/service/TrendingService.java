@@ -0,0 +1,182 @@
+package com.github.airatgaliev.itblogback.service;
+
+import com.github.airatgaliev.itblogback.dto.GetArticle;
+import com.github.airatgaliev.itblogback.model.ArticleTrendingScoreModel;
+import com.github.airatgaliev.itblogback.model.Status;
+import com.github.airatgaliev.itblogback.repository.ArticleRepository;
+import com.github.airatgaliev.itblogback.repository.ArticleTrendingScoreRepository;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class TrendingService {
+
+  private static final double MIN_SCORE = 0.01;
+
+  private final ArticleTrendingScoreRepository articleTrendingScoreRepository;
+  private final ArticleRepository articleRepository;
+  private final ArticleListAssembler articleListAssembler;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Map<Long, Score> scores = new ConcurrentHashMap<>();
+  private final double decayPerMilli;
+  private final int topK;
+  private final double viewWeight;
+  private final double bookmarkWeight;
+  private final double commentWeight;
+  private volatile List<Long> topArticleIds = List.of();
+  private volatile boolean restored;
+
+  public TrendingService(ArticleTrendingScoreRepository articleTrendingScoreRepository,
+      ArticleRepository articleRepository, ArticleListAssembler articleListAssembler, JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      @Value("${article.trending.half-life}") Duration halfLife,
+      @Value("${article.trending.top-k}") int topK,
+      @Value("${article.trending.weights.view}") double viewWeight,
+      @Value("${article.trending.weights.bookmark}") double bookmarkWeight,
+      @Value("${article.trending.weights.comment}") double commentWeight) {
+    this.articleTrendingScoreRepository = articleTrendingScoreRepository;
+    this.articleRepository = articleRepository;
+    this.articleListAssembler = articleListAssembler;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+    this.topK = topK;
+    this.viewWeight = viewWeight;
+    this.bookmarkWeight = bookmarkWeight;
+    this.commentWeight = commentWeight;
+  }
+
+  private record Score(double value, long scoredAt) {
+
+    Score decayedTo(long time, double decayPerMilli) {
+      return time <= scoredAt ? this
+          : new Score(value * Math.exp(-decayPerMilli * (time - scoredAt)), time);
+    }
+  }
+
+  public void recordView(Long articleId) {
+    record(articleId, viewWeight);
+  }
+
+  public void recordBookmark(Long articleId) {
+    recordAfterCommit(articleId, bookmarkWeight);
+  }
+
+  public void recordComment(Long articleId) {
+    recordAfterCommit(articleId, commentWeight);
+  }
+
+  public List<GetArticle> getTrendingArticles(int limit) {
+    List<Long> articleIds = topArticleIds;
+    return articleListAssembler.assemble(
+            articleIds.subList(0, Math.min(Math.max(limit, 0), articleIds.size()))).stream()
+        .filter(article -> article.getStatus() == Status.PUBLISHED).toList();
+  }
+
+  @Scheduled(fixedDelayString = "${article.trending.refresh-interval}")
+  public void refresh() {
+    long now = System.currentTimeMillis();
+    List<Map.Entry<Long, Double>> ranked = new ArrayList<>();
+    scores.forEach((articleId, score) -> {
+      double value = score.decayedTo(now, decayPerMilli).value();
+      if (value < MIN_SCORE) {
+        scores.remove(articleId, score);
+        return;
+      }
+      ranked.add(Map.entry(articleId, value));
+    });
+    ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()));
+    List<Long> top = new ArrayList<>();
+    for (int from = 0; from < ranked.size() && top.size() < topK; from += topK) {
+      List<Long> candidates = ranked.subList(from, Math.min(from + topK, ranked.size())).stream()
+          .map(Map.Entry::getKey).toList();
+      Set<Long> published = new HashSet<>(
+          articleRepository.findIdsByIdInAndStatus(candidates, Status.PUBLISHED));
+      candidates.stream().filter(published::contains).limit(topK - top.size())
+          .forEach(top::add);
+    }
+    topArticleIds = List.copyOf(top);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    for (ArticleTrendingScoreModel snapshot : articleTrendingScoreRepository.findAll()) {
+      Score restored = new Score(snapshot.getScore(), snapshot.getScoredAt().getTime());
+      scores.merge(snapshot.getArticleId(), restored, this::combine);
+    }
+    restored = true;
+    refresh();
+    log.info("Restored trending scores of {} articles.", scores.size());
+  }
+
+  @Scheduled(fixedDelayString = "${article.trending.snapshot-interval}", initialDelayString = "${article.trending.snapshot-interval}")
+  public synchronized void snapshot() {
+    if (!restored) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    Timestamp scoredAt = new Timestamp(now);
+    List<Object[]> rows = new ArrayList<>();
+    scores.forEach((articleId, score) -> {
+      double value = score.decayedTo(now, decayPerMilli).value();
+      if (value >= MIN_SCORE) {
+        rows.add(new Object[]{articleId, value, scoredAt});
+      }
+    });
+    transactionTemplate.executeWithoutResult(status -> {
+      jdbcTemplate.update("DELETE FROM article_trending_scores");
+      jdbcTemplate.batchUpdate(
+          "INSERT INTO article_trending_scores (article_id, score, scored_at) VALUES (?, ?, ?)",
+          rows);
+    });
+  }
+
+  @PreDestroy
+  public void onShutdown() {
+    snapshot();
+  }
+
+  private void recordAfterCommit(Long articleId, double weight) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      record(articleId, weight);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        record(articleId, weight);
+      }
+    });
+  }
+
+  private void record(Long articleId, double weight) {
+    long now = System.currentTimeMillis();
+    scores.merge(articleId, new Score(weight, now), this::combine);
+  }
+
+  private Score combine(Score current, Score added) {
+    long time = Math.max(current.scoredAt(), added.scoredAt());
+    return new Score(current.decayedTo(time, decayPerMilli).value() + added.decayedTo(time,
+        decayPerMilli).value(), time);
+  }
+}
@@ -1,23 +1,49 @@
 package com.github.airatgaliev.itblogback.service;
 
+import static com.github.airatgaliev.itblogback.util.TokenUtils.setAuthCookie;
+
+import com.github.airatgaliev.itblogback.dto.CursorPage;
 import com.github.airatgaliev.itblogback.dto.GetCategory;
 import com.github.airatgaliev.itblogback.dto.GetUser;
 import com.github.airatgaliev.itblogback.dto.UpdateUser;
+import com.github.airatgaliev.itblogback.event.ArticleChangedEvent;
+import com.github.airatgaliev.itblogback.event.UserCredentialsChangedEvent;
 import com.github.airatgaliev.itblogback.exception.SubscriptionAlreadyExistsException;
 import com.github.airatgaliev.itblogback.interceptor.localization.LocalizationContext;
-import com.github.airatgaliev.itblogback.model.CategoryModel;
 import com.github.airatgaliev.itblogback.model.Language;
 import com.github.airatgaliev.itblogback.model.Role;
 import com.github.airatgaliev.itblogback.model.SubscriptionModel;
 import com.github.airatgaliev.itblogback.model.UserModel;
+import com.github.airatgaliev.itblogback.repository.ArticleRepository;
 import com.github.airatgaliev.itblogback.repository.CategoryRepository;
+import com.github.airatgaliev.itblogback.repository.CommentRepository;
+import com.github.airatgaliev.itblogback.repository.FeedEntryRepository;
 import com.github.airatgaliev.itblogback.repository.SubscriptionRepository;
 import com.github.airatgaliev.itblogback.repository.UserRepository;
+import com.github.airatgaliev.itblogback.repository.projections.SubscriptionUser;
+import com.github.airatgaliev.itblogback.repository.projections.UserCategory;
+import com.github.airatgaliev.itblogback.repository.projections.UserSummary;
 import com.github.airatgaliev.itblogback.util.FileUploadUtil;
+import com.github.airatgaliev.itblogback.util.IdCursor;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,33 +51,51 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+  private static final Set<String> DIRECTORY_SORTS = Set.of("id", "username", "createdAt",
+      "subscribersCount");
+
   private final UserRepository userRepository;
+  private final ArticleRepository articleRepository;
   private final CategoryRepository categoryRepository;
   private final SubscriptionRepository subscriptionRepository;
+  private final CommentRepository commentRepository;
+  private final FeedEntryRepository feedEntryRepository;
   private final FileUploadUtil fileUploadUtil;
   private final PasswordEncoder passwordEncoder;
   private final LocalizationContext localizationContext;
+  private final CategoryCatalogue categoryCatalogue;
+  private final CategoryTagStatsService categoryTagStatsService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final JwtService jwtService;
 
-  @Transactional
-  public List<GetUser> getAllUsers() {
-    return userRepository.findAllByRoleIsNot(Role.ROLE_ADMIN).stream()
-        .map(this::convertUserModelToDto).toList();
-  }
-
-  @Transactional
-  public List<GetUser> getAllByRole(Role role) {
-    return userRepository.findAllByRoleAndRoleIsNot(role, Role.ROLE_ADMIN).stream()
-        .map(this::convertUserModelToDto).toList();
-  }
+  @Value("${user.subscriptions.max-page-size}")
+  private int maxPageSize;
 
-  @Transactional
-  public List<GetUser> getAllAuthorsByCategoryId(Long categoryId) {
-    return userRepository.findAuthorsByCategoryId(categoryId).stream()
-        .map(this::convertUserModelToDto).toList();
+  @Transactional(readOnly = true)
+  public Page<GetUser> getUsers(Role role, Long categoryId, Pageable pageable) {
+    pageable.getSort().forEach(order -> {
+      if (!DIRECTORY_SORTS.contains(order.getProperty())) {
+        throw new IllegalArgumentException("Unsupported sort for users: " + order.getProperty());
+      }
+    });
+    List<Role> roles = role != null ? List.of(role)
+        : Arrays.stream(Role.values()).filter(r -> r != Role.ROLE_ADMIN).toList();
+    Page<UserSummary> users = categoryId != null
+        ? userRepository.findSummariesByRoleInAndCategoryId(roles, categoryId, pageable)
+        : userRepository.findSummariesByRoleIn(roles, pageable);
+    Map<Long, List<GetCategory>> categories = findCategories(
+        users.getContent().stream().map(UserSummary::id).toList());
+    return users.map(user -> GetUser.builder().username(user.username()).email(user.email())
+        .firstName(user.firstName()).lastName(user.lastName()).shortInfo(user.shortInfo())
+        .bio(user.bio()).avatarUrl(user.avatarUrl())
+        .categories(categories.getOrDefault(user.id(), List.of())).role(user.role())
+        .subscriptionsCount(user.subscriptionsCount())
+        .subscribersCount(user.subscribersCount()).build());
   }
 
   @Transactional
@@ -61,9 +105,11 @@ public class UserService {
 
   @Transactional
   public GetUser updateUser(UpdateUser updateUser, UserDetails userDetails,
-      BindingResult bindingResult) {
+      BindingResult bindingResult, HttpServletResponse response) {
     UserModel user = userRepository.findByUsername(userDetails.getUsername())
         .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    String previousUsername = user.getUsername();
+    boolean passwordChanged = false;
     if (updateUser.getUsername() != null && !updateUser.getUsername().equals(user.getUsername())) {
       boolean isExistsUser = userRepository.existsByUsername(updateUser.getUsername());
       if (isExistsUser) {
@@ -95,6 +141,7 @@ public class UserService {
     if (updateUser.getNewPassword() != null && !updateUser.getNewPassword().isEmpty()) {
       if (passwordEncoder.matches(updateUser.getCurrentPassword(), user.getPassword())) {
         user.setPassword(passwordEncoder.encode(updateUser.getNewPassword()));
+        passwordChanged = true;
       } else {
         bindingResult.rejectValue("currentPassword", "password.incorrect",
             "Current password is incorrect");
@@ -104,11 +151,40 @@ public class UserService {
       String avatarUrl = fileUploadUtil.uploadUserAvatar(updateUser.getAvatar(), user.getId());
       user.setAvatarUrl(avatarUrl);
     }
-    return convertUserModelToDto(userRepository.save(user));
+    UserModel savedUser = userRepository.save(user);
+    if (passwordChanged) {
+      revokeTokens(savedUser, previousUsername);
+      savedUser.setTokenVersion(userRepository.findTokenVersionById(savedUser.getId()));
+    }
+    if (passwordChanged || !previousUsername.equals(savedUser.getUsername())) {
+      setAuthCookie(response, jwtService.generateToken(savedUser));
+    }
+    return convertUserModelToDto(savedUser);
+  }
+
+  @Transactional
+  public GetUser changeRole(String username, Role role) {
+    UserModel user = userRepository.findByUsername(username)
+        .orElseThrow(() -> new UsernameNotFoundException("User not found by username " + username));
+    if (user.getRole() != role) {
+      user.setRole(role);
+      userRepository.save(user);
+      revokeTokens(user, username);
+    }
+    return convertUserModelToDto(user);
   }
 
   @Transactional
   public void deleteUser(String username) {
+    userRepository.findByUsername(username).ifPresent(userModel -> {
+      articleRepository.findIdsByUserId(userModel.getId())
+          .forEach(articleId -> eventPublisher.publishEvent(new ArticleChangedEvent(articleId)));
+      categoryTagStatsService.authorDeleted(userModel.getId());
+      commentRepository.subtractRepliesOfUser(userModel.getId());
+      feedEntryRepository.deleteEntriesOfUser(userModel.getId());
+      userRepository.releaseSubscribedUsers(userModel.getId());
+      userRepository.releaseSubscribers(userModel.getId());
+    });
     userRepository.deleteByUsername(username);
   }
 
@@ -129,6 +205,8 @@ public class UserService {
     SubscriptionModel subscription = SubscriptionModel.builder().subscriber(subscriber)
         .user(targetUser).build();
     subscriptionRepository.save(subscription);
+    userRepository.addSubscribersCount(targetUser.getId(), 1);
+    userRepository.addSubscriptionsCount(subscriber.getId(), 1);
   }
 
   @Transactional
@@ -146,32 +224,90 @@ public class UserService {
         .orElseThrow(() -> new UsernameNotFoundException("Subscriber not found"));
     UserModel targetUser = userRepository.findByUsername(targetUsername)
         .orElseThrow(() -> new UsernameNotFoundException("Target user not found"));
-    subscriptionRepository.deleteBySubscriberAndUser(subscriber, targetUser);
+    if (subscriptionRepository.deleteBySubscriberAndUser(subscriber, targetUser) > 0) {
+      userRepository.addSubscribersCount(targetUser.getId(), -1);
+      userRepository.addSubscriptionsCount(subscriber.getId(), -1);
+    }
   }
 
-  private GetUser convertUserModelToDto(UserModel userModel) {
-    List<CategoryModel> categories = categoryRepository.findCategoriesByUserId(userModel.getId());
+  @Transactional(readOnly = true)
+  public CursorPage<GetUser> getSubscribers(String username, String cursor, int size) {
+    UserModel userModel = userRepository.findByUsername(username)
+        .orElseThrow(() -> new UsernameNotFoundException("User not found by username " + username));
+    int limit = pageLimit(size);
+    return toCursorPage(subscriptionRepository.findSubscribersBefore(userModel.getId(),
+        startingAfter(cursor), PageRequest.of(0, limit + 1)), limit);
+  }
+
+  @Transactional(readOnly = true)
+  public CursorPage<GetUser> getSubscriptions(String username, String cursor, int size) {
+    UserModel userModel = userRepository.findByUsername(username)
+        .orElseThrow(() -> new UsernameNotFoundException("User not found by username " + username));
+    int limit = pageLimit(size);
+    return toCursorPage(subscriptionRepository.findSubscriptionsBefore(userModel.getId(),
+        startingAfter(cursor), PageRequest.of(0, limit + 1)), limit);
+  }
+
+  @Async
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${user.subscriptions.reconcile-cron}")
+  @Transactional
+  public void reconcileSubscriptionCounts() {
+    int fixed = userRepository.recountSubscriptions();
+    if (fixed > 0) {
+      log.warn("Reconciled subscription counters of {} users.", fixed);
+    }
+  }
+
+  private int pageLimit(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Size must be at least 1");
+    }
+    return Math.min(size, maxPageSize);
+  }
+
+  private Long startingAfter(String cursor) {
+    IdCursor idCursor = IdCursor.decode(cursor);
+    return idCursor != null ? idCursor.id() : Long.MAX_VALUE;
+  }
+
+  private void revokeTokens(UserModel user, String username) {
+    userRepository.incrementTokenVersion(user.getId());
+    eventPublisher.publishEvent(new UserCredentialsChangedEvent(username));
+  }
+
+  private Map<Long, List<GetCategory>> findCategories(Collection<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return Map.of();
+    }
     Language interfaceLanguage = Language.valueOf(localizationContext.getLocale().toUpperCase());
+    return categoryRepository.findCategoryIdsByUserIdIn(userIds).stream().collect(
+        Collectors.groupingBy(UserCategory::getUserId, Collectors.flatMapping(
+            row -> categoryCatalogue.getCategory(row.getCategoryId(), interfaceLanguage).stream()
+                .map(category -> GetCategory.builder().id(category.getId())
+                    .name(category.getName()).build()), Collectors.toList())));
+  }
+
+  private GetUser convertUserModelToDto(UserModel userModel) {
     return GetUser.builder().username(userModel.getUsername()).email(userModel.getEmail())
         .firstName(userModel.getFirstName()).lastName(userModel.getLastName())
         .shortInfo(userModel.getShortInfo()).bio(userModel.getBio())
-        .avatarUrl(userModel.getAvatarUrl()).categories(categories.stream().map(category -> {
-          String localizedCategoryName = category.getName()
-              .getOrDefault(interfaceLanguage, category.getName().get(Language.EN));
-          return GetCategory.builder().id(category.getId()).name(localizedCategoryName)
-              .build();
-        }).toList()).role(userModel.getRole())
-        .subscriptions(userModel.getSubscriptions().stream().map(
-            sub -> GetUser.builder().username(sub.getUser().getUsername())
-                .firstName(sub.getUser().getFirstName()).lastName(sub.getUser().getLastName())
-                .avatarUrl(sub.getUser().getAvatarUrl()).shortInfo(sub.getUser().getShortInfo())
-                .build()).toList()).subscribers(
-            userModel.getSubscribers().stream().map(
-                    sub -> GetUser.builder().username(sub.getSubscriber().getUsername())
-                        .firstName(sub.getSubscriber().getFirstName())
-                        .lastName(sub.getSubscriber().getLastName())
-                        .avatarUrl(sub.getSubscriber().getAvatarUrl())
-                        .shortInfo(sub.getSubscriber().getShortInfo()).build())
-                .toList()).build();
+        .avatarUrl(userModel.getAvatarUrl())
+        .categories(findCategories(List.of(userModel.getId())).getOrDefault(userModel.getId(),
+            List.of())).role(userModel.getRole())
+        .subscriptionsCount(userModel.getSubscriptionsCount())
+        .subscribersCount(userModel.getSubscribersCount()).build();
+  }
+
+  private CursorPage<GetUser> toCursorPage(List<SubscriptionUser> rows, int size) {
+    String nextCursor = null;
+    if (rows.size() > size) {
+      rows = rows.subList(0, size);
+      nextCursor = new IdCursor(rows.getLast().subscriptionId()).encode();
+    }
+    return CursorPage.<GetUser>builder().content(rows.stream().map(
+        row -> GetUser.builder().username(row.username()).firstName(row.firstName())
+            .lastName(row.lastName()).avatarUrl(row.avatarUrl()).shortInfo(row.shortInfo())
+            .build()).toList()).nextCursor(nextCursor).size(size).build();
   }
 }
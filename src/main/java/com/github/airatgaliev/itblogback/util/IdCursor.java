@@ -0,0 +1,24 @@
+package com.github.airatgaliev.itblogback.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record IdCursor(Long id) {
+
+  public static IdCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      return new IdCursor(Long.parseLong(
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+  }
+
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+  }
+}
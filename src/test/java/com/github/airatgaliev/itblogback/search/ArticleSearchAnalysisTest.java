@@ -0,0 +1,182 @@
+package com.github.airatgaliev.itblogback.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.airatgaliev.itblogback.config.SearchAnalysisConfigurer;
+import com.github.airatgaliev.itblogback.model.Language;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Version;
+import org.hibernate.search.backend.lucene.analysis.impl.LuceneAnalysisComponentFactory;
+import org.hibernate.search.backend.lucene.analysis.model.dsl.impl.LuceneAnalysisConfigurationContextImpl;
+import org.hibernate.search.backend.lucene.analysis.model.impl.LuceneAnalysisDefinitionCollector;
+import org.hibernate.search.engine.environment.classpath.spi.AggregatedClassLoader;
+import org.hibernate.search.engine.environment.classpath.spi.DefaultClassResolver;
+import org.hibernate.search.engine.environment.classpath.spi.DefaultResourceResolver;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class ArticleSearchAnalysisTest {
+
+  private static final Map<Language, Analyzer> analyzers = new EnumMap<>(Language.class);
+
+  @BeforeAll
+  static void configureAnalyzers() {
+    AggregatedClassLoader classLoader = AggregatedClassLoader.createDefault();
+    LuceneAnalysisConfigurationContextImpl context = new LuceneAnalysisConfigurationContextImpl(
+        new LuceneAnalysisComponentFactory(Version.LATEST, DefaultClassResolver.create(classLoader),
+            DefaultResourceResolver.create(classLoader)));
+    new SearchAnalysisConfigurer().configure(context);
+    Map<String, Analyzer> definitions = new HashMap<>();
+    context.contribute(new LuceneAnalysisDefinitionCollector() {
+      @Override
+      public void collectAnalyzer(String name, Analyzer analyzer) {
+        definitions.put(name, analyzer);
+      }
+
+      @Override
+      public void collectNormalizer(String name, Analyzer analyzer) {
+      }
+    });
+    for (Language language : Language.values()) {
+      analyzers.put(language, definitions.get(SearchAnalysisConfigurer.analyzerName(language)));
+    }
+  }
+
+  @Test
+  void englishInflectionsMatchTheSameArticles() throws IOException {
+    try (Directory directory = index(Language.EN, "<p>Searching the <b>index</b></p>",
+        "Running a query", "A thread per request")) {
+      assertThat(search(directory, Language.EN, "searches", false)).containsExactly(0);
+      assertThat(search(directory, Language.EN, "indexes", false)).containsExactly(0);
+      assertThat(search(directory, Language.EN, "runs", false)).containsExactly(1);
+      assertThat(search(directory, Language.EN, "threads", false)).containsExactly(2);
+      assertThat(search(directory, Language.EN, "b", false)).isEmpty();
+    }
+  }
+
+  @Test
+  void russianInflectionsMatchTheSameArticles() throws IOException {
+    try (Directory directory = index(Language.RU, "<p>Поиск статей по <b>индексу</b></p>",
+        "Кэширование запросов", "Потоки и очереди")) {
+      assertThat(search(directory, Language.RU, "статья", false)).containsExactly(0);
+      assertThat(search(directory, Language.RU, "поиском", false)).containsExactly(0);
+      assertThat(search(directory, Language.RU, "индексы", false)).containsExactly(0);
+      assertThat(search(directory, Language.RU, "запрос", false)).containsExactly(1);
+      assertThat(search(directory, Language.RU, "поток", false)).containsExactly(2);
+      assertThat(search(directory, Language.RU, "по", false)).isEmpty();
+    }
+  }
+
+  @Test
+  @Tag("benchmark")
+  void stemmedMatchAgainstFuzzyFallback() throws IOException {
+    String[] words = {"run", "runs", "running", "runner", "index", "indexes", "indexing", "query",
+        "queries", "querying", "search", "searches", "searching", "cache", "caches", "caching"};
+    Random random = new Random(42);
+    String[] contents = new String[50_000];
+    for (int i = 0; i < contents.length; i++) {
+      StringBuilder content = new StringBuilder("<p>");
+      for (int j = 0; j < 40; j++) {
+        content.append(words[random.nextInt(words.length)]).append(' ')
+            .append(Integer.toString(random.nextInt(20_000), 36)).append(' ');
+      }
+      contents[i] = content.append("</p>").toString();
+    }
+    try (Directory directory = index(Language.EN, contents);
+        DirectoryReader reader = DirectoryReader.open(directory)) {
+      IndexSearcher searcher = new IndexSearcher(reader);
+      Query stemmed = match(Language.EN, "searching", false);
+      Query fuzzy = match(Language.EN, "searching", true);
+      assertThat(searcher.count(stemmed)).isPositive();
+      assertThat(searcher.count(fuzzy)).isPositive();
+      log.info("match(\"searching\"): stemmed {} us, fuzzy(1) {} us per query",
+          measure(searcher, stemmed), measure(searcher, fuzzy));
+    }
+  }
+
+  private Directory index(Language language, String... contents) throws IOException {
+    Directory directory = new ByteBuffersDirectory();
+    try (IndexWriter writer = new IndexWriter(directory,
+        new IndexWriterConfig(analyzers.get(language)))) {
+      for (int i = 0; i < contents.length; i++) {
+        Document document = new Document();
+        document.add(new StoredField("id", i));
+        document.add(new TextField(contentField(language), contents[i], Field.Store.NO));
+        writer.addDocument(document);
+      }
+    }
+    return directory;
+  }
+
+  private List<Integer> search(Directory directory, Language language, String text,
+      boolean fuzzy) throws IOException {
+    try (DirectoryReader reader = DirectoryReader.open(directory)) {
+      IndexSearcher searcher = new IndexSearcher(reader);
+      List<Integer> ids = new ArrayList<>();
+      for (ScoreDoc hit : searcher.search(match(language, text, fuzzy), 10).scoreDocs) {
+        ids.add(searcher.storedFields().document(hit.doc).getField("id").numericValue()
+            .intValue());
+      }
+      return ids;
+    }
+  }
+
+  private Query match(Language language, String text, boolean fuzzy) throws IOException {
+    BooleanQuery.Builder query = new BooleanQuery.Builder();
+    try (TokenStream tokens = analyzers.get(language).tokenStream(contentField(language), text)) {
+      CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+      tokens.reset();
+      while (tokens.incrementToken()) {
+        Term indexed = new Term(contentField(language), term.toString());
+        query.add(fuzzy ? new FuzzyQuery(indexed, 1) : new TermQuery(indexed), Occur.SHOULD);
+      }
+      tokens.end();
+    }
+    return query.build();
+  }
+
+  private String contentField(Language language) {
+    return ArticleLanguageBinder.field(ArticleLanguageBinder.CONTENT, language);
+  }
+
+  private long measure(IndexSearcher searcher, Query query) throws IOException {
+    int iterations = 200;
+    for (int i = 0; i < iterations / 4; i++) {
+      searcher.search(query, 10);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      searcher.search(query, 10);
+    }
+    return (System.nanoTime() - start) / iterations / 1000;
+  }
+}
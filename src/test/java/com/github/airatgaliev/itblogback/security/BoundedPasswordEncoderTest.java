@@ -0,0 +1,151 @@
+package com.github.airatgaliev.itblogback.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.airatgaliev.itblogback.exception.PasswordHashingBusyException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final List<CompletableFuture<String>> background = new ArrayList<>();
+  private final List<String> upgradedPasswords = new ArrayList<>();
+  private BoundedPasswordEncoder encoder;
+
+  @AfterEach
+  void releaseWorkers() throws Exception {
+    release.countDown();
+    CompletableFuture.allOf(background.toArray(CompletableFuture[]::new))
+        .exceptionally(e -> null).get(5, TimeUnit.SECONDS);
+    encoder.destroy();
+  }
+
+  @Test
+  void rejectsWithBusyWhenTheQueueIsFull() throws Exception {
+    encoder = encoder(Duration.ofSeconds(5));
+    occupyWorker();
+    encodeInBackground("slow-queued");
+    awaitQueued();
+
+    assertThatThrownBy(() -> encoder.matches("secret", "hash:secret"))
+        .isInstanceOf(PasswordHashingBusyException.class);
+  }
+
+  @Test
+  void rejectsWithBusyWhenTheHashIsNotDoneInTime() throws Exception {
+    encoder = encoder(Duration.ofMillis(100));
+    occupyWorker();
+
+    assertThatThrownBy(() -> encoder.encode("secret"))
+        .isInstanceOf(PasswordHashingBusyException.class);
+  }
+
+  @Test
+  void skipsTheUpgradeWhileTasksAreQueued() throws Exception {
+    encoder = encoder(Duration.ofSeconds(5));
+    assertThat(encoder.upgradeEncoding("legacy:secret")).isTrue();
+    occupyWorker();
+    encodeInBackground("slow-queued");
+    awaitQueued();
+
+    assertThat(encoder.upgradeEncoding("legacy:secret")).isFalse();
+  }
+
+  @Test
+  void upgradesThePasswordAfterAuthenticationWhenThePoolIsFree() {
+    encoder = encoder(Duration.ofSeconds(5));
+
+    Authentication authentication = provider("secret").authenticate(
+        UsernamePasswordAuthenticationToken.unauthenticated("author", "secret"));
+
+    assertThat(authentication.isAuthenticated()).isTrue();
+    assertThat(upgradedPasswords).containsExactly("hash:secret");
+  }
+
+  @Test
+  void authenticatedLoginSucceedsWhenTheUpgradeCannotBeHashed() {
+    encoder = encoder(Duration.ofMillis(100));
+
+    Authentication authentication = provider("slow-secret").authenticate(
+        UsernamePasswordAuthenticationToken.unauthenticated("author", "slow-secret"));
+
+    assertThat(authentication.isAuthenticated()).isTrue();
+    assertThat(authentication.getAuthorities()).extracting(Object::toString)
+        .containsExactly("ROLE_AUTHOR");
+    assertThat(upgradedPasswords).isEmpty();
+  }
+
+  private BoundedPasswordEncoder encoder(Duration timeout) {
+    return new BoundedPasswordEncoder(new SlowEncoder(), 1, 1, timeout);
+  }
+
+  private UpgradeTolerantAuthenticationProvider provider(String rawPassword) {
+    UserDetails user = User.withUsername("author").password("legacy:" + rawPassword)
+        .roles("AUTHOR").build();
+    UpgradeTolerantAuthenticationProvider provider = new UpgradeTolerantAuthenticationProvider();
+    provider.setUserDetailsService(username -> user);
+    provider.setPasswordEncoder(encoder);
+    provider.setUserDetailsPasswordService((details, newPassword) -> {
+      upgradedPasswords.add(newPassword);
+      return User.withUserDetails(details).password(newPassword).build();
+    });
+    return provider;
+  }
+
+  private void occupyWorker() throws InterruptedException {
+    encodeInBackground("slow-running");
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private void encodeInBackground(String rawPassword) {
+    background.add(CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword)));
+  }
+
+  private void awaitQueued() throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (encoder.upgradeEncoding("legacy:secret") && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  private class SlowEncoder implements PasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      if (rawPassword.toString().startsWith("slow")) {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return "hash:" + rawPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encodedPassword.equals("hash:" + rawPassword)
+          || encodedPassword.equals("legacy:" + rawPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+      return encodedPassword.startsWith("legacy:");
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.github.airatgaliev.itblogback.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.github.airatgaliev.itblogback.model.Role;
+import com.github.airatgaliev.itblogback.model.UserModel;
+import com.github.airatgaliev.itblogback.repository.UserRepository;
+import com.github.airatgaliev.itblogback.repository.projections.UserState;
+import com.github.airatgaliev.itblogback.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+@Slf4j
+class JwtAuthenticationFilterTest {
+
+  private static final String SECRET = Base64.getEncoder()
+      .encodeToString("0123456789abcdef0123456789abcdef0123456789abcdef".getBytes());
+
+  private final JwtService jwtService = new JwtService(SECRET, Duration.ofHours(1).toMillis());
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+  private String token;
+
+  @BeforeEach
+  void issueToken() {
+    UserModel user = UserModel.builder().username("author").email("author@test.com")
+        .password("secret").role(Role.ROLE_AUTHOR).enabled(true).build();
+    when(userDetailsService.loadUserByUsername("author")).thenReturn(user);
+    token = jwtService.generateToken(user);
+  }
+
+  @Test
+  void statelessFilterTakesTheRoleFromTheTokenWithoutLoadingTheUser() throws Exception {
+    when(userRepository.findStateByUsername("author")).thenReturn(
+        Optional.of(new UserState(true, 0)));
+
+    Authentication authentication = authenticate(filter(true, 100));
+
+    assertThat(authentication.getName()).isEqualTo("author");
+    assertThat(authentication.getAuthorities()).extracting(Object::toString)
+        .containsExactly("ROLE_AUTHOR");
+    verifyNoInteractions(userDetailsService);
+  }
+
+  @Test
+  void statelessFilterRejectsTokensIssuedBeforeTheVersionChanged() throws Exception {
+    when(userRepository.findStateByUsername("author")).thenReturn(
+        Optional.of(new UserState(true, 1)));
+
+    assertThat(authenticate(filter(true, 100))).isNull();
+  }
+
+  @Test
+  void statelessFilterRejectsDisabledUsers() throws Exception {
+    when(userRepository.findStateByUsername("author")).thenReturn(
+        Optional.of(new UserState(false, 0)));
+
+    assertThat(authenticate(filter(true, 100))).isNull();
+  }
+
+  @Test
+  void statefulFilterLoadsTheUser() throws Exception {
+    Authentication authentication = authenticate(filter(false, 100));
+
+    assertThat(authentication.getAuthorities()).extracting(Object::toString)
+        .containsExactly("ROLE_AUTHOR");
+    verify(userDetailsService).loadUserByUsername("author");
+    verifyNoInteractions(userRepository);
+  }
+
+  @Test
+  @Tag("benchmark")
+  void statefulAgainstStatelessFilter() throws Exception {
+    when(userRepository.findStateByUsername("author")).thenReturn(
+        Optional.of(new UserState(true, 0)));
+    log.info("Filter per request with mocked user lookups: stateful {} ns, stateless {} ns, "
+            + "stateless with token cache {} ns", measure(filter(false, 0)),
+        measure(filter(true, 0)), measure(filter(true, 100)));
+  }
+
+  private JwtAuthenticationFilter filter(boolean stateless, int tokenCacheEntries) {
+    return new JwtAuthenticationFilter(jwtService, userDetailsService,
+        new UserStateCache(userRepository, 100, Duration.ofSeconds(30)),
+        new TokenCache(new SimpleMeterRegistry(), tokenCacheEntries), stateless);
+  }
+
+  private Authentication authenticate(JwtAuthenticationFilter filter)
+      throws ServletException, IOException {
+    SecurityContextHolder.clearContext();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/articles");
+    request.addHeader("Authorization", "Bearer " + token);
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    SecurityContextHolder.clearContext();
+    return authentication;
+  }
+
+  private long measure(JwtAuthenticationFilter filter) throws Exception {
+    int iterations = 20_000;
+    for (int i = 0; i < iterations / 4; i++) {
+      assertThat(authenticate(filter)).isNotNull();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      authenticate(filter);
+    }
+    return (System.nanoTime() - start) / iterations;
+  }
+}
@@ -0,0 +1,138 @@
+package com.github.airatgaliev.itblogback.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.airatgaliev.itblogback.exception.LoginRateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class LoginRateLimiterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicLong clock = new AtomicLong(Duration.ofHours(1).toNanos());
+
+  @Test
+  void accountBucketAllowsABurstThenRefillsOneAttemptPerInterval() {
+    LoginRateLimiter limiter = limiter(100, 100, 5);
+
+    for (int i = 0; i < 5; i++) {
+      limiter.acquire("10.0.0.1", "author");
+    }
+    assertRejected(limiter, "10.0.0.1", "author");
+
+    advance(Duration.ofSeconds(11));
+    assertRejected(limiter, "10.0.0.1", "author");
+    advance(Duration.ofSeconds(1));
+    limiter.acquire("10.0.0.1", "author");
+    assertRejected(limiter, "10.0.0.1", "author");
+  }
+
+  @Test
+  void accountIsLimitedAcrossAddressesAndCaseInsensitively() {
+    LoginRateLimiter limiter = limiter(100, 100, 2);
+
+    limiter.acquire("10.0.0.1", "author");
+    limiter.acquire("10.0.0.2", " Author ");
+
+    assertRejected(limiter, "10.0.0.3", "AUTHOR");
+    assertThatCode(() -> limiter.acquire("10.0.0.3", "reader")).doesNotThrowAnyException();
+  }
+
+  @Test
+  void addressIsLimitedAcrossAccounts() {
+    LoginRateLimiter limiter = limiter(100, 3, 100);
+
+    limiter.acquire("10.0.0.1", "first");
+    limiter.acquire("10.0.0.1", "second");
+    limiter.acquire("10.0.0.1", "third");
+
+    assertRejected(limiter, "10.0.0.1", "fourth");
+    assertThatCode(() -> limiter.acquire("10.0.0.2", "fourth")).doesNotThrowAnyException();
+  }
+
+  @Test
+  void evictsOnlyBucketsThatHaveFullyRefilled() {
+    LoginRateLimiter limiter = limiter(100, 100, 5);
+    limiter.acquire("10.0.0.1", "idle");
+    advance(Duration.ofSeconds(30));
+    limiter.acquire("10.0.0.1", "active");
+    limiter.acquire("10.0.0.1", "active");
+
+    advance(Duration.ofSeconds(15));
+    limiter.evictIdle();
+
+    assertThat(buckets("account")).isEqualTo(1);
+    for (int i = 0; i < 4; i++) {
+      limiter.acquire("10.0.0.1", "active");
+    }
+    assertRejected(limiter, "10.0.0.1", "active");
+  }
+
+  @Test
+  void newKeyOnAFullShardTakesTheSlotOfAnIdleBucket() {
+    LoginRateLimiter limiter = limiter(2, 100, 1);
+    limiter.acquire("10.0.0.1", "first");
+    limiter.acquire("10.0.0.1", "second");
+
+    advance(Duration.ofMinutes(1));
+    limiter.acquire("10.0.0.1", "third");
+
+    assertRejected(limiter, "10.0.0.1", "third");
+    assertThat(overflows("account")).isZero();
+  }
+
+  @Test
+  void newKeyOnAFullShardOfActiveBucketsIsLetThroughWhileTrackedKeysStayLimited() {
+    LoginRateLimiter limiter = limiter(2, 100, 1);
+    limiter.acquire("10.0.0.1", "first");
+    limiter.acquire("10.0.0.1", "second");
+
+    for (int i = 0; i < 5; i++) {
+      limiter.acquire("10.0.0.1", "untracked");
+    }
+
+    assertThat(overflows("account")).isEqualTo(5);
+    assertThat(buckets("account")).isEqualTo(2);
+    assertRejected(limiter, "10.0.0.1", "first");
+    assertRejected(limiter, "10.0.0.1", "second");
+  }
+
+  @Test
+  void untrackedAccountsOnAFullShardAreStillLimitedByAddress() {
+    LoginRateLimiter limiter = limiter(2, 3, 1);
+    limiter.acquire("10.0.0.1", "first");
+    limiter.acquire("10.0.0.1", "second");
+
+    limiter.acquire("10.0.0.1", "untracked");
+
+    assertRejected(limiter, "10.0.0.1", "another");
+    assertThat(overflows("account")).isEqualTo(1);
+  }
+
+  private LoginRateLimiter limiter(int maxEntries, int ipCapacity, int accountCapacity) {
+    return new LoginRateLimiter(meterRegistry, 1, maxEntries, ipCapacity, Duration.ofMinutes(1),
+        accountCapacity, Duration.ofMinutes(1), clock::get);
+  }
+
+  private void advance(Duration duration) {
+    clock.addAndGet(duration.toNanos());
+  }
+
+  private void assertRejected(LoginRateLimiter limiter, String ip, String usernameOrEmail) {
+    assertThatThrownBy(() -> limiter.acquire(ip, usernameOrEmail))
+        .isInstanceOf(LoginRateLimitExceededException.class);
+  }
+
+  private double buckets(String key) {
+    return meterRegistry.get("security.login.rate-limit.buckets").tag("key", key).gauge().value();
+  }
+
+  private double overflows(String key) {
+    return meterRegistry.get("security.login.rate-limit.overflows").tag("key", key).counter()
+        .count();
+  }
+}
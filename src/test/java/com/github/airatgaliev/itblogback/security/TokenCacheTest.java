@@ -0,0 +1,72 @@
+package com.github.airatgaliev.itblogback.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class TokenCacheTest {
+
+  private final TokenCache tokenCache = new TokenCache(new SimpleMeterRegistry(), 100);
+  private final AtomicInteger verifications = new AtomicInteger();
+
+  @Test
+  void verifiesATokenOnce() {
+    tokenCache.get("token", verifier("author"));
+    tokenCache.get("token", verifier("author"));
+
+    assertThat(verifications).hasValue(1);
+  }
+
+  @Test
+  void evictedTokenIsVerifiedAgain() {
+    tokenCache.get("token", verifier("author"));
+    tokenCache.evict("token");
+    tokenCache.get("token", verifier("author"));
+
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  void evictionDuringVerificationIsNotUndoneByTheResult() {
+    tokenCache.get("token", token -> {
+      tokenCache.evict(token);
+      return verifier("author").apply(token);
+    });
+    tokenCache.get("token", verifier("author"));
+
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  void userEvictionDuringVerificationIsNotUndoneByTheResult() {
+    tokenCache.get("token", token -> {
+      tokenCache.evictUser("author");
+      return verifier("author").apply(token);
+    });
+    tokenCache.get("token", verifier("author"));
+
+    assertThat(verifications).hasValue(2);
+    assertThat(tokenCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void evictUserDropsAllTokensOfTheUser() {
+    tokenCache.get("first", verifier("author"));
+    tokenCache.get("second", verifier("author"));
+    tokenCache.get("other", verifier("reader"));
+
+    tokenCache.evictUser("author");
+
+    assertThat(tokenCache.size()).isEqualTo(1);
+  }
+
+  private Function<String, VerifiedToken> verifier(String username) {
+    return token -> {
+      verifications.incrementAndGet();
+      return new VerifiedToken(username, "ROLE_AUTHOR", 0, System.currentTimeMillis() + 60_000);
+    };
+  }
+}
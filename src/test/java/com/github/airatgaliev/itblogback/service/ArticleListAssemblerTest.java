@@ -0,0 +1,68 @@
+package com.github.airatgaliev.itblogback.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.github.airatgaliev.itblogback.dto.GetArticle;
+import com.github.airatgaliev.itblogback.interceptor.localization.LocalizationContext;
+import com.github.airatgaliev.itblogback.model.Language;
+import com.github.airatgaliev.itblogback.model.Status;
+import com.github.airatgaliev.itblogback.repository.ArticleRepository;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleCategoryName;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleSummary;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleTagName;
+import com.github.airatgaliev.itblogback.repository.projections.ArticleTitle;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ArticleListAssemblerTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 10, 100})
+  void issuesSameNumberOfQueriesRegardlessOfPageSize(int pageSize) {
+    ArticleRepository articleRepository = mock(ArticleRepository.class);
+    LocalizationContext localizationContext = mock(LocalizationContext.class);
+    when(localizationContext.getLocale()).thenReturn(Language.RU.getCode());
+
+    List<Long> ids = LongStream.rangeClosed(1, pageSize).boxed().toList();
+    when(articleRepository.findSummariesByIdIn(anyCollection())).thenReturn(ids.stream().map(
+        id -> new ArticleSummary(id, Status.PUBLISHED, Language.EN, id + 1000, "Article " + id,
+            "<p>Preview</p>", "author", "/avatar.png", id, id * 10, new Date(), new Date())).toList());
+    when(articleRepository.findCategoryNamesByArticleIdIn(anyCollection())).thenReturn(
+        ids.stream().flatMap(id -> List.of(new ArticleCategoryName(id, 7L, Language.EN, "Java"),
+            new ArticleCategoryName(id, 7L, Language.RU, "Джава")).stream()).toList());
+    when(articleRepository.findTagNamesByArticleIdIn(anyCollection())).thenReturn(
+        ids.stream().map(id -> new ArticleTagName(id, 3L, "jvm")).toList());
+    when(articleRepository.findTitlesByIdIn(anyCollection())).thenReturn(
+        ids.stream().map(id -> new ArticleTitle(id + 1000, "Original " + id)).toList());
+
+    ArticleListAssembler assembler = new ArticleListAssembler(articleRepository,
+        localizationContext);
+    List<GetArticle> articles = assembler.assemble(ids);
+
+    assertThat(articles).hasSize(pageSize);
+    assertThat(articles).extracting(GetArticle::getId).containsExactlyElementsOf(ids);
+    GetArticle last = articles.getLast();
+    assertThat(last.getCategories()).singleElement()
+        .satisfies(category -> assertThat(category.getName()).isEqualTo("Джава"));
+    assertThat(last.getTags()).hasSize(1);
+    assertThat(last.getBookmarksCount()).isEqualTo(pageSize);
+    assertThat(last.getOriginalArticle().getTitle()).isEqualTo("Original " + pageSize);
+    assertThat(last.getUsername()).isEqualTo("author");
+    assertThat(last.getContent()).isNull();
+
+    verify(articleRepository, times(1)).findSummariesByIdIn(anyCollection());
+    verify(articleRepository, times(1)).findCategoryNamesByArticleIdIn(anyCollection());
+    verify(articleRepository, times(1)).findTagNamesByArticleIdIn(anyCollection());
+    verify(articleRepository, times(1)).findTitlesByIdIn(anyCollection());
+    verifyNoMoreInteractions(articleRepository);
+  }
+}
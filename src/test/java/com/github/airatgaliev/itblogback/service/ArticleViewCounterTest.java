@@ -0,0 +1,132 @@
+package com.github.airatgaliev.itblogback.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ArticleViewCounterTest {
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final ArticleViewCounter viewCounter = new ArticleViewCounter(jdbcTemplate);
+  private final List<List<Long>> flushed = new ArrayList<>();
+
+  @Test
+  void flushesOneBatchedDeltaPerArticleInIdOrder() {
+    recordFlushes();
+    viewCounter.recordView(2L);
+    viewCounter.recordView(1L);
+    viewCounter.recordView(2L);
+    viewCounter.recordView(2L);
+
+    viewCounter.flush();
+
+    assertThat(flushed).containsExactly(List.of(1L, 1L), List.of(3L, 2L));
+    assertThat(viewCounter.pendingViews(2L)).isZero();
+  }
+
+  @Test
+  void reportsViewsThatAreNotFlushedYet() {
+    viewCounter.recordView(1L);
+    viewCounter.recordView(1L);
+
+    assertThat(viewCounter.pendingViews(1L)).isEqualTo(2);
+    assertThat(viewCounter.pendingViews(2L)).isZero();
+  }
+
+  @Test
+  void doesNotWriteWhenNothingWasViewed() {
+    viewCounter.recordView(1L);
+    recordFlushes();
+    viewCounter.flush();
+    flushed.clear();
+
+    viewCounter.flush();
+    viewCounter.flush();
+
+    assertThat(flushed).isEmpty();
+  }
+
+  @Test
+  void keepsTheDeltasOfAFailedFlushForTheNextOne() {
+    viewCounter.recordView(1L);
+    viewCounter.recordView(1L);
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        .thenThrow(new DataAccessResourceFailureException("Database is down"));
+    viewCounter.flush();
+
+    recordFlushes();
+    viewCounter.recordView(1L);
+    viewCounter.flush();
+
+    assertThat(flushed).containsExactly(List.of(3L, 1L));
+  }
+
+  @Test
+  void flushesPendingViewsOnShutdown() {
+    recordFlushes();
+    viewCounter.recordView(5L);
+
+    viewCounter.onShutdown();
+
+    assertThat(flushed).containsExactly(List.of(1L, 5L));
+  }
+
+  @Test
+  void doesNotLoseViewsRecordedWhileFlushing() {
+    recordFlushes();
+    int threads = 4;
+    int viewsPerThread = 20_000;
+    AtomicBoolean recording = new AtomicBoolean(true);
+    CompletableFuture<Void> flusher = CompletableFuture.runAsync(() -> {
+      while (recording.get()) {
+        viewCounter.flush();
+      }
+    });
+
+    CompletableFuture.allOf(IntStream.range(0, threads).mapToObj(
+        thread -> CompletableFuture.runAsync(() -> {
+          for (int i = 0; i < viewsPerThread; i++) {
+            viewCounter.recordView(1L + i % 3);
+          }
+        })).toArray(CompletableFuture[]::new)).join();
+    recording.set(false);
+    flusher.join();
+    viewCounter.flush();
+
+    AtomicLong total = new AtomicLong();
+    flushed.forEach(delta -> total.addAndGet(delta.getFirst()));
+    assertThat(total).hasValue((long) threads * viewsPerThread);
+  }
+
+  @Test
+  void recordingAViewDoesNotTouchTheDatabase() {
+    viewCounter.recordView(1L);
+
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void recordFlushes() {
+    doAnswer(invocation -> {
+      List<Object[]> deltas = invocation.getArgument(1);
+      synchronized (flushed) {
+        deltas.forEach(delta -> flushed.add(List.of((Long) delta[0], (Long) delta[1])));
+      }
+      return new int[deltas.size()];
+    }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+  }
+}
@@ -0,0 +1,124 @@
+package com.github.airatgaliev.itblogback.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import com.github.airatgaliev.itblogback.model.ArticleModel;
+import com.github.airatgaliev.itblogback.model.CategoryModel;
+import com.github.airatgaliev.itblogback.model.Status;
+import com.github.airatgaliev.itblogback.model.TagModel;
+import com.github.airatgaliev.itblogback.repository.CategoryRepository;
+import com.github.airatgaliev.itblogback.repository.CategoryTagStatRepository;
+import com.github.airatgaliev.itblogback.repository.TagRepository;
+import com.github.airatgaliev.itblogback.service.CategoryTagStatsService.ArticleTaxonomy;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CategoryTagStatsServiceTest {
+
+  private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+  private final TagRepository tagRepository = mock(TagRepository.class);
+  private final CategoryTagStatRepository categoryTagStatRepository = mock(
+      CategoryTagStatRepository.class);
+  private final CategoryTagStatsService statsService = new CategoryTagStatsService(
+      categoryRepository, tagRepository, categoryTagStatRepository);
+
+  @Test
+  void newArticleIncrementsItsCategoriesTagsAndPairs() {
+    statsService.articleChanged(ArticleTaxonomy.EMPTY,
+        new ArticleTaxonomy(Set.of(1L, 2L), Set.of(10L)));
+
+    verify(categoryRepository).addArticleCount(Set.of(1L, 2L), 1);
+    verify(tagRepository).addArticleCount(Set.of(10L), 1);
+    verify(categoryTagStatRepository).addArticleCount(1L, 10L, 1);
+    verify(categoryTagStatRepository).addArticleCount(2L, 10L, 1);
+    verifyNoMoreRepositoryInteractions();
+  }
+
+  @Test
+  void updateMovesOnlyTheCountsThatChanged() {
+    statsService.articleChanged(new ArticleTaxonomy(Set.of(1L), Set.of(10L, 11L)),
+        new ArticleTaxonomy(Set.of(2L), Set.of(10L, 11L)));
+
+    verify(categoryRepository).addArticleCount(Set.of(1L), -1);
+    verify(categoryRepository).addArticleCount(Set.of(2L), 1);
+    verify(categoryTagStatRepository).addArticleCount(1L, 10L, -1);
+    verify(categoryTagStatRepository).addArticleCount(1L, 11L, -1);
+    verify(categoryTagStatRepository).addArticleCount(2L, 10L, 1);
+    verify(categoryTagStatRepository).addArticleCount(2L, 11L, 1);
+    verifyNoMoreRepositoryInteractions();
+  }
+
+  @Test
+  void swappingATagMovesOnlyThePairsOfThatTag() {
+    statsService.articleChanged(new ArticleTaxonomy(Set.of(1L), Set.of(10L, 11L)),
+        new ArticleTaxonomy(Set.of(1L), Set.of(10L, 12L)));
+
+    verify(tagRepository).addArticleCount(Set.of(11L), -1);
+    verify(tagRepository).addArticleCount(Set.of(12L), 1);
+    verify(categoryTagStatRepository).addArticleCount(1L, 11L, -1);
+    verify(categoryTagStatRepository).addArticleCount(1L, 12L, 1);
+    verifyNoMoreRepositoryInteractions();
+  }
+
+  @Test
+  void unpublishingWithTheSameTaxonomyLeavesTheCountersAlone() {
+    ArticleModel article = article(List.of(1L, 2L), List.of(10L));
+    article.setStatus(Status.PUBLISHED);
+    ArticleTaxonomy before = ArticleTaxonomy.of(article);
+    article.setStatus(Status.DRAFT);
+
+    statsService.articleChanged(before, ArticleTaxonomy.of(article));
+
+    verifyNoInteractions(categoryRepository, tagRepository, categoryTagStatRepository);
+  }
+
+  @Test
+  void deletedArticleDecrementsEverythingItWasCountedIn() {
+    statsService.articleChanged(ArticleTaxonomy.of(article(List.of(1L), List.of(10L, 11L))),
+        ArticleTaxonomy.EMPTY);
+
+    verify(categoryRepository).addArticleCount(Set.of(1L), -1);
+    verify(tagRepository).addArticleCount(Set.of(10L, 11L), -1);
+    verify(categoryTagStatRepository).addArticleCount(1L, 10L, -1);
+    verify(categoryTagStatRepository).addArticleCount(1L, 11L, -1);
+    verifyNoMoreRepositoryInteractions();
+  }
+
+  @Test
+  void taxonomyIsTakenFromTheArticleIds() {
+    ArticleTaxonomy taxonomy = ArticleTaxonomy.of(article(List.of(1L, 2L), List.of(10L)));
+
+    assertThat(taxonomy.categoryIds()).containsExactlyInAnyOrder(1L, 2L);
+    assertThat(taxonomy.tagIds()).containsExactly(10L);
+  }
+
+  @Test
+  void deletedAuthorSubtractsTheirArticlesFromEveryCounter() {
+    statsService.authorDeleted(5L);
+
+    verify(categoryRepository).subtractArticlesOfUser(5L);
+    verify(tagRepository).subtractArticlesOfUser(5L);
+    verify(categoryTagStatRepository).subtractArticlesOfUser(5L);
+    verifyNoMoreRepositoryInteractions();
+  }
+
+  private ArticleModel article(List<Long> categoryIds, List<Long> tagIds) {
+    return ArticleModel.builder()
+        .categories(categoryIds.stream().map(id -> {
+          CategoryModel category = new CategoryModel();
+          category.setId(id);
+          return category;
+        }).toList())
+        .tags(tagIds.stream().map(id -> TagModel.builder().id(id).build()).toList())
+        .build();
+  }
+
+  private void verifyNoMoreRepositoryInteractions() {
+    verifyNoMoreInteractions(categoryRepository, tagRepository, categoryTagStatRepository);
+  }
+}
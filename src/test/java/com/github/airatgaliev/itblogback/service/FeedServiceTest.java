@@ -0,0 +1,202 @@
+package com.github.airatgaliev.itblogback.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.github.airatgaliev.itblogback.dto.CursorPage;
+import com.github.airatgaliev.itblogback.dto.GetArticle;
+import com.github.airatgaliev.itblogback.event.ArticlePublishedEvent;
+import com.github.airatgaliev.itblogback.model.ArticleModel;
+import com.github.airatgaliev.itblogback.model.Status;
+import com.github.airatgaliev.itblogback.model.UserModel;
+import com.github.airatgaliev.itblogback.repository.ArticleRepository;
+import com.github.airatgaliev.itblogback.repository.FeedEntryRepository;
+import com.github.airatgaliev.itblogback.repository.SubscriptionRepository;
+import com.github.airatgaliev.itblogback.repository.UserRepository;
+import com.github.airatgaliev.itblogback.repository.projections.FeedItem;
+import com.github.airatgaliev.itblogback.util.KeysetCursor;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class FeedServiceTest {
+
+  private static final Instant NOW = Instant.parse("2024-10-01T12:00:00Z");
+
+  private final FeedEntryRepository feedEntryRepository = mock(FeedEntryRepository.class);
+  private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+  private final SubscriptionRepository subscriptionRepository = mock(
+      SubscriptionRepository.class);
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final ArticleListAssembler articleListAssembler = mock(ArticleListAssembler.class);
+  private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+  private final FeedService feedService = new FeedService(feedEntryRepository, articleRepository,
+      subscriptionRepository, userRepository, articleListAssembler, transactionTemplate);
+  private Set<Long> unpublishedIds = Set.of();
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    ReflectionTestUtils.setField(feedService, "maxLength", 1000);
+    ReflectionTestUtils.setField(feedService, "maxFanOutSubscribers", 10L);
+    ReflectionTestUtils.setField(feedService, "maxPageSize", 50);
+    when(userRepository.findByUsername("reader")).thenReturn(
+        Optional.of(UserModel.builder().id(1L).username("reader").build()));
+    when(articleListAssembler.assemble(anyList())).thenAnswer(
+        invocation -> ((List<Long>) invocation.getArgument(0)).stream()
+            .map(id -> GetArticle.builder().id(id)
+                .status(unpublishedIds.contains(id) ? Status.DRAFT : Status.PUBLISHED).build())
+            .toList());
+    doAnswer(invocation -> {
+      ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+      return null;
+    }).when(transactionTemplate).executeWithoutResult(any());
+  }
+
+  @Test
+  void mergesPushedAndPulledArticlesNewestFirstWithoutDuplicates() {
+    pushed(item(10L, 30), item(7L, 10));
+    pulled(item(10L, 30), item(8L, 20), item(9L, 20));
+
+    CursorPage<GetArticle> page = feedService.getFeed("reader", null, 10);
+
+    assertThat(page.getContent()).extracting(GetArticle::getId).containsExactly(10L, 9L, 8L, 7L);
+    assertThat(page.getNextCursor()).isNull();
+  }
+
+  @Test
+  void nextCursorPointsAtTheLastItemOfTheMergedPage() {
+    pushed(item(10L, 30), item(7L, 10));
+    pulled(item(8L, 20), item(9L, 20));
+
+    CursorPage<GetArticle> page = feedService.getFeed("reader", null, 3);
+
+    assertThat(page.getContent()).extracting(GetArticle::getId).containsExactly(10L, 9L, 8L);
+    assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(
+        new KeysetCursor(publishedMinute(20).toInstant(), 8L));
+  }
+
+  @Test
+  void bothSourcesContinueFromTheCursor() {
+    pushed();
+    pulled();
+    KeysetCursor cursor = new KeysetCursor(publishedMinute(20).toInstant(), 8L);
+
+    feedService.getFeed("reader", cursor.encode(), 3);
+
+    Timestamp publishedAt = Timestamp.from(cursor.createdAt());
+    verify(feedEntryRepository).findFeedItems(1L, publishedAt, 8L, PageRequest.of(0, 4));
+    verify(articleRepository).findFeedItemsByAuthors(List.of(2L), publishedAt, 8L,
+        PageRequest.of(0, 4));
+  }
+
+  @Test
+  void skipsThePullQueryWhenNoAuthorIsPulled() {
+    pushed(item(7L, 10));
+    when(subscriptionRepository.findPulledAuthorIds(1L, 10L)).thenReturn(List.of());
+
+    CursorPage<GetArticle> page = feedService.getFeed("reader", null, 10);
+
+    assertThat(page.getContent()).extracting(GetArticle::getId).containsExactly(7L);
+    verify(articleRepository, never()).findFeedItemsByAuthors(anyList(), any(), anyLong(),
+        any());
+  }
+
+  @Test
+  void dropsArticlesThatWereUnpublishedAfterFanOut() {
+    unpublishedIds = Set.of(9L);
+    pushed(item(10L, 30), item(9L, 20));
+    pulled();
+
+    CursorPage<GetArticle> page = feedService.getFeed("reader", null, 10);
+
+    assertThat(page.getContent()).extracting(GetArticle::getId).containsExactly(10L);
+  }
+
+  @Test
+  void capsThePageSize() {
+    pushed();
+    pulled();
+
+    CursorPage<GetArticle> page = feedService.getFeed("reader", null, 500);
+
+    assertThat(page.getSize()).isEqualTo(50);
+    ArgumentCaptor<PageRequest> pageRequest = ArgumentCaptor.forClass(PageRequest.class);
+    verify(feedEntryRepository).findFeedItems(eq(1L), any(), anyLong(), pageRequest.capture());
+    assertThat(pageRequest.getValue().getPageSize()).isEqualTo(51);
+  }
+
+  @Test
+  void rejectsPageSizeBelowOne() {
+    assertThatThrownBy(() -> feedService.getFeed("reader", null, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Size must be at least 1");
+  }
+
+  @Test
+  void pushesAPublishedArticleToSubscribersOfASmallAuthor() {
+    ArticleModel article = publishedArticle(10);
+    when(articleRepository.findById(article.getId())).thenReturn(Optional.of(article));
+    when(feedEntryRepository.fanOut(2L, article.getId(), article.getPublishedAt())).thenReturn(3);
+
+    feedService.onArticlePublished(new ArticlePublishedEvent(article.getId()));
+
+    verify(feedEntryRepository).trimFeedsReceiving(article.getId(), article.getPublishedAt(),
+        1000);
+  }
+
+  @Test
+  void leavesArticlesOfLargeAuthorsToThePull() {
+    ArticleModel article = publishedArticle(11);
+    when(articleRepository.findById(article.getId())).thenReturn(Optional.of(article));
+
+    feedService.onArticlePublished(new ArticlePublishedEvent(article.getId()));
+
+    verifyNoInteractions(feedEntryRepository);
+  }
+
+  private void pushed(FeedItem... items) {
+    when(feedEntryRepository.findFeedItems(eq(1L), any(), anyLong(), any())).thenReturn(
+        List.of(items));
+  }
+
+  private void pulled(FeedItem... items) {
+    when(subscriptionRepository.findPulledAuthorIds(1L, 10L)).thenReturn(List.of(2L));
+    when(articleRepository.findFeedItemsByAuthors(eq(List.of(2L)), any(), anyLong(),
+        any())).thenReturn(List.of(items));
+  }
+
+  private FeedItem item(Long articleId, int minute) {
+    return new FeedItem(articleId, publishedMinute(minute));
+  }
+
+  private Date publishedMinute(int minute) {
+    return Date.from(NOW.plusSeconds(minute * 60L));
+  }
+
+  private ArticleModel publishedArticle(long authorSubscribers) {
+    return ArticleModel.builder().id(100L).status(Status.PUBLISHED).publishedAt(publishedMinute(0))
+        .user(UserModel.builder().id(2L).subscribersCount(authorSubscribers).build()).build();
+  }
+}